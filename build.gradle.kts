@@ -11,6 +11,8 @@ repositories {
 
 dependencies {
     compileOnly(fileTree("libs") { include("*.jar") })
+    // Configs and components initialize their Hytale codecs when constructed in tests
+    testImplementation(fileTree("libs") { include("*.jar") })
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
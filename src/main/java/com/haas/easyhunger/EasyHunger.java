@@ -1,27 +1,38 @@
 package com.haas.easyhunger;
 
+import com.hypixel.hytale.assetstore.event.LoadedAssetsEvent;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.io.adapter.PacketAdapters;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.Config;
 import com.haas.easyhunger.commands.SetHungerCommand;
 import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.config.ConfigSaver;
 import com.haas.easyhunger.config.EasyHungerConfig;
 import com.haas.easyhunger.config.FoodsConfig;
 import com.haas.easyhunger.config.DrinksConfig;
 import com.haas.easyhunger.config.BiomeModifiersConfig;
+import com.haas.easyhunger.config.MetabolismSettings;
+import com.haas.easyhunger.config.SafeZonesConfig;
+import com.haas.easyhunger.config.ItemCategoriesConfig;
 import com.haas.easyhunger.events.GameModeChangeListener;
+import com.haas.easyhunger.events.EasyHungerPlayerDisconnect;
 import com.haas.easyhunger.events.EasyHungerPlayerReady;
+import com.haas.easyhunger.systems.MetabolismSystem;
 import com.haas.easyhunger.systems.OnDeathSystem;
-import com.haas.easyhunger.systems.StarveSystem;
-import com.haas.easyhunger.systems.WellFedSystem;
+import com.haas.easyhunger.utils.BiomeUtils;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 public class EasyHunger extends JavaPlugin {
@@ -30,18 +41,35 @@ public class EasyHunger extends JavaPlugin {
     private final Config<FoodsConfig> foodsConfig;
     private final Config<DrinksConfig> drinksConfig;
     private final Config<BiomeModifiersConfig> biomeConfig;
+    private final Config<SafeZonesConfig> safeZonesConfig;
+    private final Config<ItemCategoriesConfig> itemCategoriesConfig;
+    private final ConfigSaver configSaver = new ConfigSaver();
     private ComponentType<EntityStore, HungerComponent> hungerComponentType;
     private ComponentType<EntityStore, com.haas.easyhunger.components.ThirstComponent> thirstComponentType;
+    private ComponentType<EntityStore, com.haas.easyhunger.components.MetabolismPaused> metabolismPausedComponentType;
+
+    // Compiled config snapshot read by the tick hot paths, replaced atomically on every edit
+    private final AtomicLong settingsVersion = new AtomicLong();
+    private volatile MetabolismSettings settings;
 
     public static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 
     public EasyHunger(@NonNullDecl JavaPluginInit init) {
         super(init);
         instance = this;
-        this.config = this.withConfig("HungerConfig", EasyHungerConfig.CODEC);
-        this.foodsConfig = this.withConfig("Foods", FoodsConfig.CODEC);
-        this.drinksConfig = this.withConfig("Drinks", DrinksConfig.CODEC);
-        this.biomeConfig = this.withConfig("BiomeModifiers", BiomeModifiersConfig.CODEC);
+        this.config = this.withSavedConfig("HungerConfig", EasyHungerConfig.CODEC);
+        this.foodsConfig = this.withSavedConfig("Foods", FoodsConfig.CODEC);
+        this.drinksConfig = this.withSavedConfig("Drinks", DrinksConfig.CODEC);
+        this.biomeConfig = this.withSavedConfig("BiomeModifiers", BiomeModifiersConfig.CODEC);
+        this.safeZonesConfig = this.withSavedConfig("SafeZones", SafeZonesConfig.CODEC);
+        this.itemCategoriesConfig = this.withSavedConfig("ItemCategories", ItemCategoriesConfig.CODEC);
+    }
+
+    // Config registered with the saver, which writes it from snapshots at runtime
+    private <T> Config<T> withSavedConfig(String name, com.hypixel.hytale.codec.builder.BuilderCodec<T> codec) {
+        Config<T> saved = this.withConfig(name, codec);
+        this.configSaver.track(saved, this.getDataDirectory().resolve(name + ".json"), codec);
+        return saved;
     }
 
     @Override
@@ -57,7 +85,12 @@ public class EasyHunger extends JavaPlugin {
         this.foodsConfig.save();
         this.drinksConfig.save();
         this.biomeConfig.save();
+        this.safeZonesConfig.save();
+        this.itemCategoriesConfig.save();
 
+        this.publishSettings();
+        this.rebuildSafeZones();
+        com.haas.easyhunger.ui.ItemCategoryFilter.compile(this.itemCategoriesConfig.get());
 
         // register hunger component
         this.hungerComponentType = this.getEntityStoreRegistry()
@@ -67,12 +100,20 @@ public class EasyHunger extends JavaPlugin {
         this.thirstComponentType = this.getEntityStoreRegistry()
                 .registerComponent(com.haas.easyhunger.components.ThirstComponent.class, "ThirstComponent", com.haas.easyhunger.components.ThirstComponent.CODEC);
 
-        // register starve system
+        // register paused marker (not persisted, re-classified after load)
+        this.metabolismPausedComponentType = this.getEntityStoreRegistry()
+                .registerComponent(com.haas.easyhunger.components.MetabolismPaused.class, com.haas.easyhunger.components.MetabolismPaused::new);
+
+        // register metabolism system (hunger, thirst and well fed in a single pass)
         final var entityStoreRegistry = this.getEntityStoreRegistry();
-        entityStoreRegistry.registerSystem(StarveSystem.create());
+        entityStoreRegistry.registerSystem(new com.haas.easyhunger.systems.MetabolismPauseSystem());
+        entityStoreRegistry.registerSystem(MetabolismSystem.create());
         entityStoreRegistry.registerSystem(new OnDeathSystem());
         entityStoreRegistry.registerSystem(new com.haas.easyhunger.systems.EasyHungerBlockBreakSystem());
         entityStoreRegistry.registerSystem(new com.haas.easyhunger.systems.EasyHungerJumpSystem());
+        // sends the HUD updates buffered during the tick, after the metabolism and jump systems;
+        // block break changes are event driven and go out with the next flush
+        entityStoreRegistry.registerSystem(new com.haas.easyhunger.systems.HudFlushSystem());
 
         // DISABLED: Old Food Handler (replaced by ConsumeFoodInteraction)
         // final com.haas.easyhunger.systems.EasyHungerFoodHandler foodHandler = new com.haas.easyhunger.systems.EasyHungerFoodHandler(this.hungerComponentType);
@@ -82,13 +123,8 @@ public class EasyHunger extends JavaPlugin {
         final com.haas.easyhunger.systems.EasyThirstHandler thirstHandler = new com.haas.easyhunger.systems.EasyThirstHandler(this.thirstComponentType);
         this.getEventRegistry().registerGlobal(com.hypixel.hytale.server.core.event.events.entity.LivingEntityInventoryChangeEvent.class, thirstHandler::handleInventoryChange);
         
-        // register thirst system
-        entityStoreRegistry.registerSystem(com.haas.easyhunger.systems.EasyThirstSystem.create());
-        
-        // register well fed regeneration system
         if (this.config.get().isWellFedEnabled()) {
-            entityStoreRegistry.registerSystem(WellFedSystem.create());
-            logInfo("WellFed regeneration system enabled (threshold: " + this.config.get().getWellFedThreshold() + "%)");
+            logInfo("WellFed regeneration enabled (threshold: " + this.config.get().getWellFedThreshold() + "%)");
         }
 
         // Interactions
@@ -104,6 +140,30 @@ public class EasyHunger extends JavaPlugin {
         // setup hunger component and hud on player join
         this.getEventRegistry().registerGlobal(PlayerReadyEvent.class, EasyHungerPlayerReady::handle);
 
+        // drop per-player state on disconnect
+        this.getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, EasyHungerPlayerDisconnect::handle);
+
+        // resolve effect asset indices whenever EntityEffect assets are (re)loaded
+        this.getEventRegistry().register(LoadedAssetsEvent.class, EntityEffect.class, event -> EffectIndexRegistry.refresh());
+
+        // drop memoized item ids and rebuild the per-item tables whenever Item assets are (re)loaded
+        this.getEventRegistry().register(LoadedAssetsEvent.class, Item.class, event -> {
+            com.haas.easyhunger.utils.ItemIdNormalizer.invalidate();
+            ItemValueTables.refresh();
+            com.haas.easyhunger.ui.ItemCategoryFilter.invalidateTables();
+            com.haas.easyhunger.ui.ItemSearchIndex.invalidateAll();
+        });
+
+        // drop per-world caches and HUDs when a world goes away
+        this.getEventRegistry().registerGlobal(RemoveWorldEvent.class, event -> {
+            String worldName = event.getWorld().getName();
+            BiomeUtils.invalidateWorld(worldName);
+            com.haas.easyhunger.systems.MetabolismScheduler.removeWorld(worldName);
+            com.haas.easyhunger.ui.EasyHungerHud.removeWorld(worldName);
+            com.haas.easyhunger.ui.EasyWaterHud.removeWorld(worldName);
+            com.haas.easyhunger.ui.HudOutbox.removeWorld(worldName);
+        });
+
         // listen to gamemode changes
         PacketAdapters.registerOutbound(new GameModeChangeListener());
 
@@ -111,12 +171,28 @@ public class EasyHunger extends JavaPlugin {
         this.getCommandRegistry().registerCommand(new SetHungerCommand());
         this.getCommandRegistry().registerCommand(new com.haas.easyhunger.commands.SetThirstCommand());
         this.getCommandRegistry().registerCommand(new com.haas.easyhunger.commands.EasyHungerValuesCommand());
+        this.getCommandRegistry().registerCommand(new com.haas.easyhunger.commands.ReloadSafeZonesCommand());
 
 
         // Try to prune recipes immediately, but also plan for a delayed pruning if needed
         this.pruneRecipes();
     }
 
+    @Override
+    protected void start() {
+        super.start();
+
+        // other plugins are set up by now, resolve the protection plugin hooks once
+        com.haas.easyhunger.compat.protection.ProtectionManager.get().bindAll();
+    }
+
+    @Override
+    protected void shutdown() {
+        // write config edits still waiting for the debounce window
+        this.configSaver.shutdown();
+        super.shutdown();
+    }
+
     public void pruneRecipes() {
         if (this.getConfig().isThirstEnabled()) {
             return;
@@ -148,23 +224,59 @@ public class EasyHunger extends JavaPlugin {
         }
     }
 
+    /**
+     * Recompiles the MetabolismSettings snapshot from the live configs and publishes it.
+     * Must be called after any config value is changed at runtime.
+     */
+    public synchronized MetabolismSettings publishSettings() {
+        MetabolismSettings compiled = MetabolismSettings.compile(
+            this.settingsVersion.incrementAndGet(),
+            this.config.get(),
+            this.biomeConfig.get(),
+            this.foodsConfig.get(),
+            this.drinksConfig.get()
+        );
+        this.settings = compiled;
+        ItemValueTables.rebuild(compiled);
+        return compiled;
+    }
+
+    /**
+     * Recompiles the safe zone index from the loaded SafeZones config.
+     */
+    public void rebuildSafeZones() {
+        var safeZones = com.haas.easyhunger.compat.protection.ProtectionManager.get().getSafeZones();
+        safeZones.rebuild(this.safeZonesConfig.get());
+        // cached per-player results may refer to removed or moved zones
+        com.haas.easyhunger.utils.HungerProtectionUtils.invalidateAll();
+        logInfo("Safe zones loaded: " + safeZones.getZoneCount());
+    }
+
+    /**
+     * Reads SafeZones.json from disk again and rebuilds the index.
+     */
+    public java.util.concurrent.CompletableFuture<Void> reloadSafeZones() {
+        return this.safeZonesConfig.load().thenRun(this::rebuildSafeZones);
+    }
+
+    // Runtime saves are write-behind: queued here and written off the world thread
     public void saveConfig() {
-        this.config.save();
+        this.configSaver.markDirty(this.config);
     }
 
     public void saveFoodsConfig() {
-        this.foodsConfig.save();
+        this.configSaver.markDirty(this.foodsConfig);
     }
 
     public void saveDrinksConfig() {
-        this.drinksConfig.save();
+        this.configSaver.markDirty(this.drinksConfig);
     }
 
     public void saveAllConfigs() {
-        this.config.save();
-        this.foodsConfig.save();
-        this.drinksConfig.save();
-        this.biomeConfig.save();
+        this.configSaver.markDirty(this.config);
+        this.configSaver.markDirty(this.foodsConfig);
+        this.configSaver.markDirty(this.drinksConfig);
+        this.configSaver.markDirty(this.biomeConfig);
     }
 
     public ComponentType<EntityStore, HungerComponent> getHungerComponentType() {
@@ -175,10 +287,22 @@ public class EasyHunger extends JavaPlugin {
         return this.thirstComponentType;
     }
 
+    public ComponentType<EntityStore, com.haas.easyhunger.components.MetabolismPaused> getMetabolismPausedComponentType() {
+        return this.metabolismPausedComponentType;
+    }
+
     public EasyHungerConfig getConfig() {
         return this.config.get();
     }
 
+    /**
+     * Current compiled config snapshot. Grab it once per tick and read fields from it.
+     */
+    public MetabolismSettings getSettings() {
+        MetabolismSettings current = this.settings;
+        return current != null ? current : this.publishSettings();
+    }
+
     public BiomeModifiersConfig getBiomeConfig() {
         return this.biomeConfig.get();
     }
@@ -1,79 +1,60 @@
 package com.haas.easyhunger;
 
+import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentAccessor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
 import com.hypixel.hytale.server.core.entity.effect.ActiveEntityEffect;
 import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageCause;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.haas.easyhunger.components.HungerComponent;
-import com.haas.easyhunger.config.EasyHungerConfig;
-import com.haas.easyhunger.systems.StarveSystem;
+import com.haas.easyhunger.components.ThirstComponent;
+import com.haas.easyhunger.systems.MetabolismSystem;
 import com.haas.easyhunger.ui.EasyHungerHud;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 
 public class EasyHungerUtils {
-    private static EntityEffect starvingEntityEffect;
-    private static EntityEffect hungryEntityEffect;
-    private static EntityEffect dehydratedEntityEffect;
-    private static DamageCause starvationDamageCause;
+    private static final DamageCause STARVATION_DAMAGE_CAUSE = new DamageCause("Starvation", "Starvation", false, true, true);
+    private static final DamageCause THIRST_DAMAGE_CAUSE = new DamageCause("Thirst", "Thirst", false, true, true);
 
-    public static final String starvingEntityEffectId = "Starving";
-    public static final String hungryEntityEffectId = "Hungry";
-    public static final String dehydratedEntityEffectId = "Dehydrated";
+    public static final String starvingEntityEffectId = EffectIndexRegistry.STARVING_ID;
+    public static final String hungryEntityEffectId = EffectIndexRegistry.HUNGRY_ID;
+    public static final String dehydratedEntityEffectId = EffectIndexRegistry.DEHYDRATED_ID;
 
 
     @NonNullDecl
     public static EntityEffect getStarvingEntityEffect() {
-        if (starvingEntityEffect == null) {
-            starvingEntityEffect = EntityEffect.getAssetMap().getAsset(starvingEntityEffectId);
-            assert starvingEntityEffect != null;
-            EasyHungerConfig conf = EasyHunger.get().getConfig();
-            try {
-                // patch damageCalculator cooldown so that audio syncs properly with starvation tick rate (user configured)
-                Field f = EntityEffect.class.getDeclaredField("damageCalculatorCooldown");
-                f.setAccessible(true);
-                // this only affect sfx. Users with low hunger tick rates may notice bugged sfx timings otherwise.
-                float cooldown = Math.max(conf.getStarvationTickRate(), 1.0f);
-                f.setFloat(starvingEntityEffect, cooldown);
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        EntityEffect starvingEntityEffect = EffectIndexRegistry.getStarving();
+        assert starvingEntityEffect != null;
         return starvingEntityEffect;
     }
 
     @NonNullDecl
     public static EntityEffect getHungryEntityEffect() {
-        if (hungryEntityEffect == null) {
-            hungryEntityEffect = EntityEffect.getAssetMap().getAsset(hungryEntityEffectId);
-            assert hungryEntityEffect != null;
-        }
+        EntityEffect hungryEntityEffect = EffectIndexRegistry.getHungry();
+        assert hungryEntityEffect != null;
         return hungryEntityEffect;
     }
 
-    public static boolean activeEntityEffectIs(ActiveEntityEffect effect, String entityEffectId) {
-        try {
-            Field f = ActiveEntityEffect.class.getDeclaredField("entityEffectId");
-            f.setAccessible(true);
-            String id = (String) f.get(effect);
-            return id.equals(entityEffectId);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * @param entityEffectIndex Asset index from EffectIndexRegistry (getHungryIndex() etc.), resolved once by the caller
+     */
+    public static boolean activeEntityEffectIs(ActiveEntityEffect effect, int entityEffectIndex) {
+        return EffectIndexRegistry.is(effect, entityEffectIndex);
     }
 
     public static boolean activeEntityEffectIsStarving(ActiveEntityEffect effect) {
-        return activeEntityEffectIs(effect, starvingEntityEffectId);
+        return EffectIndexRegistry.is(effect, EffectIndexRegistry.getStarvingIndex());
     }
 
     public static boolean activeEntityEffectIsHungry(ActiveEntityEffect effect) {
-        return activeEntityEffectIs(effect, hungryEntityEffectId);
+        return EffectIndexRegistry.is(effect, EffectIndexRegistry.getHungryIndex());
     }
 
     public static boolean activeEntityEffectIsHungerRelated(ActiveEntityEffect effect) {
@@ -82,25 +63,17 @@ public class EasyHungerUtils {
 
     @NonNullDecl
     public static EntityEffect getDehydratedEntityEffect() {
-        if (dehydratedEntityEffect == null) {
-            dehydratedEntityEffect = EntityEffect.getAssetMap().getAsset(dehydratedEntityEffectId);
-            assert dehydratedEntityEffect != null;
-        }
+        EntityEffect dehydratedEntityEffect = EffectIndexRegistry.getDehydrated();
+        assert dehydratedEntityEffect != null;
         return dehydratedEntityEffect;
     }
 
     public static boolean activeEntityEffectIsDehydrated(ActiveEntityEffect effect) {
-        return activeEntityEffectIs(effect, dehydratedEntityEffectId);
+        return EffectIndexRegistry.is(effect, EffectIndexRegistry.getDehydratedIndex());
     }
 
     public static boolean activeEntityEffectIsDehydrated(EffectControllerComponent effectController) {
-        ActiveEntityEffect[] effects = effectController.getAllActiveEntityEffects();
-        if (effects != null) {
-            for (ActiveEntityEffect effect : effects) {
-                if (activeEntityEffectIsDehydrated(effect)) return true;
-            }
-        }
-        return false;
+        return EffectIndexRegistry.contains(effectController.getAllActiveEntityEffects(), EffectIndexRegistry.getDehydratedIndex());
     }
 
     public static boolean activeEntityEffectIsThirstRelated(ActiveEntityEffect effect) {
@@ -118,6 +91,11 @@ public class EasyHungerUtils {
                 effectController.removeEffect(ref, effect.getEntityEffectIndex(), componentAccessor);
             });
         }
+        // keep the applied effect bits in sync so MetabolismSystem re-applies on the next transition
+        ThirstComponent thirstComponent = componentAccessor.getComponent(ref, ThirstComponent.getComponentType());
+        if (thirstComponent != null) {
+            thirstComponent.setAppliedEffect(ThirstComponent.EFFECT_DEHYDRATED, false);
+        }
     }
 
     public static void removeHungerRelatedEffectsFromEntity(
@@ -127,10 +105,15 @@ public class EasyHungerUtils {
     ) {
         final ActiveEntityEffect[] activeEffects = effectController.getAllActiveEntityEffects();
         if (activeEffects != null && activeEffects.length > 0) {
-            Arrays.stream(activeEffects).filter(StarveSystem::shouldRemoveEffectOnStarvation).forEach(effect -> {
+            Arrays.stream(activeEffects).filter(MetabolismSystem::shouldRemoveEffectOnStarvation).forEach(effect -> {
                 effectController.removeEffect(ref, effect.getEntityEffectIndex(), componentAccessor);
             });
         }
+        // keep the applied effect bits in sync so MetabolismSystem re-applies on the next transition
+        HungerComponent hungerComponent = componentAccessor.getComponent(ref, HungerComponent.getComponentType());
+        if (hungerComponent != null) {
+            hungerComponent.setAppliedEffect(HungerComponent.EFFECT_HUNGRY | HungerComponent.EFFECT_STARVING, false);
+        }
     }
 
     public static void removeHungerRelatedEffectsFromEntity(
@@ -157,16 +140,29 @@ public class EasyHungerUtils {
 
     @NonNullDecl
     public static DamageCause getStarvationDamageCause() {
-        // We recreate this every time to ensure config changes (like death message) are applied instantly
-        // Hytale's DamageCause is likely lightweight enough.
-        String message = "Starvation";
-        return new DamageCause("Starvation", message, false, true, true);
+        return STARVATION_DAMAGE_CAUSE;
     }
 
     @NonNullDecl
     public static DamageCause getThirstDamageCause() {
-        String message = "Thirst";
-        return new DamageCause("Thirst", message, false, true, true);
+        return THIRST_DAMAGE_CAUSE;
+    }
+
+    /**
+     * Deals the hunger and thirst damage of one tick, each under its own cause.
+     */
+    public static void applyMetabolismDamage(
+            @NonNullDecl Ref<EntityStore> ref,
+            @NonNullDecl CommandBuffer<EntityStore> commandBuffer,
+            float hungerDamage,
+            float thirstDamage
+    ) {
+        if (hungerDamage > 0) {
+            DamageSystems.executeDamage(ref, commandBuffer, new Damage(Damage.NULL_SOURCE, STARVATION_DAMAGE_CAUSE, hungerDamage));
+        }
+        if (thirstDamage > 0) {
+            DamageSystems.executeDamage(ref, commandBuffer, new Damage(Damage.NULL_SOURCE, THIRST_DAMAGE_CAUSE, thirstDamage));
+        }
     }
 }
 
@@ -0,0 +1,128 @@
+package com.haas.easyhunger;
+
+import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
+import com.hypixel.hytale.server.core.entity.effect.ActiveEntityEffect;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+
+/**
+ * Resolves the EasyHunger entity effects to their asset indices once, so the tick systems can
+ * compare ActiveEntityEffect.getEntityEffectIndex() against an int instead of reading the
+ * effect id through reflection.
+ *
+ * Refreshed when EntityEffect assets are (re)loaded, and lazily on first use in case the
+ * load event fired before the plugin registered its listener.
+ */
+public final class EffectIndexRegistry {
+
+    public static final String HUNGRY_ID = "Hungry";
+    public static final String STARVING_ID = "Starving";
+    public static final String DEHYDRATED_ID = "Dehydrated";
+    public static final String NOURISHED_ID = "Nourished";  // Health regen from food
+    public static final String HYDRATED_ID = "Hydrated";    // Stamina regen from water
+
+    // Never returned by getEntityEffectIndex(), used for "asset not found"
+    public static final int NO_INDEX = Integer.MIN_VALUE;
+
+    private static volatile Snapshot snapshot;
+
+    private EffectIndexRegistry() {
+    }
+
+    /**
+     * Re-resolve every effect from the current asset map. Called on asset (re)load.
+     */
+    public static synchronized void refresh() {
+        Snapshot resolved = new Snapshot();
+        snapshot = resolved;
+
+        EasyHunger.logInfo("Effect indices resolved: Hungry=" + describe(resolved.hungryIndex)
+            + ", Starving=" + describe(resolved.starvingIndex)
+            + ", Dehydrated=" + describe(resolved.dehydratedIndex)
+            + ", Nourished=" + describe(resolved.nourishedIndex)
+            + ", Hydrated=" + describe(resolved.hydratedIndex));
+    }
+
+    private static Snapshot get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    public static int getHungryIndex() { return get().hungryIndex; }
+    public static int getStarvingIndex() { return get().starvingIndex; }
+    public static int getDehydratedIndex() { return get().dehydratedIndex; }
+    public static int getNourishedIndex() { return get().nourishedIndex; }
+    public static int getHydratedIndex() { return get().hydratedIndex; }
+
+    @Nullable public static EntityEffect getHungry() { return get().hungry; }
+    @Nullable public static EntityEffect getStarving() { return get().starving; }
+    @Nullable public static EntityEffect getDehydrated() { return get().dehydrated; }
+    @Nullable public static EntityEffect getNourished() { return get().nourished; }
+    @Nullable public static EntityEffect getHydrated() { return get().hydrated; }
+
+    /**
+     * Whether the active effect is the asset with the given index.
+     */
+    public static boolean is(@Nullable ActiveEntityEffect effect, int effectIndex) {
+        return effect != null && effectIndex != NO_INDEX && effect.getEntityEffectIndex() == effectIndex;
+    }
+
+    /**
+     * Whether any of the active effects is the asset with the given index.
+     */
+    public static boolean contains(@Nullable ActiveEntityEffect[] effects, int effectIndex) {
+        if (effects == null || effectIndex == NO_INDEX) return false;
+        for (ActiveEntityEffect effect : effects) {
+            if (effect.getEntityEffectIndex() == effectIndex) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Asset index for an arbitrary effect id, NO_INDEX if unknown. Not for the tick path.
+     */
+    public static int indexOf(String effectId) {
+        int index = EntityEffect.getAssetMap().getIndex(effectId);
+        return index < 0 ? NO_INDEX : index;
+    }
+
+    private static String describe(int index) {
+        return index == NO_INDEX ? "NOT FOUND" : String.valueOf(index);
+    }
+
+    private static final class Snapshot {
+        private final int hungryIndex = indexOf(HUNGRY_ID);
+        private final int starvingIndex = indexOf(STARVING_ID);
+        private final int dehydratedIndex = indexOf(DEHYDRATED_ID);
+        private final int nourishedIndex = indexOf(NOURISHED_ID);
+        private final int hydratedIndex = indexOf(HYDRATED_ID);
+
+        private final EntityEffect hungry = EntityEffect.getAssetMap().getAsset(HUNGRY_ID);
+        private final EntityEffect starving = patchStarving(EntityEffect.getAssetMap().getAsset(STARVING_ID));
+        private final EntityEffect dehydrated = EntityEffect.getAssetMap().getAsset(DEHYDRATED_ID);
+        private final EntityEffect nourished = EntityEffect.getAssetMap().getAsset(NOURISHED_ID);
+        private final EntityEffect hydrated = EntityEffect.getAssetMap().getAsset(HYDRATED_ID);
+    }
+
+    @Nullable
+    private static EntityEffect patchStarving(@Nullable EntityEffect starving) {
+        if (starving == null) return null;
+        try {
+            // patch damageCalculator cooldown so that audio syncs properly with starvation tick rate (user configured)
+            // done once per asset load, a reloaded asset is a new object and needs the patch again
+            Field f = EntityEffect.class.getDeclaredField("damageCalculatorCooldown");
+            f.setAccessible(true);
+            // this only affect sfx. Users with low hunger tick rates may notice bugged sfx timings otherwise.
+            float cooldown = Math.max(EasyHunger.get().getSettings().getStarvationTickRate(), 1.0f);
+            f.setFloat(starving, cooldown);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        return starving;
+    }
+}
@@ -0,0 +1,182 @@
+package com.haas.easyhunger;
+
+import com.haas.easyhunger.config.MetabolismSettings;
+import com.haas.easyhunger.config.PrefixValueIndex;
+import com.haas.easyhunger.utils.ItemIdNormalizer;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Food and drink values for every loaded Item, resolved once per Item so an eat or drink is an
+ * identity map lookup instead of a prefix walk over the string id.
+ *
+ * Items expose no dense asset index, so every Item asset is given a slot in an IdentityHashMap
+ * when the tables are built; NaN in a table means the item is not configured. Built in full when
+ * Item assets are (re)loaded. When EasyHunger.publishSettings() publishes new MetabolismSettings,
+ * only the slots of items under a food or drink key that changed are resolved again; the slots
+ * and unchanged tables are shared with the previous snapshot. Readers never rebuild.
+ */
+public final class ItemValueTables {
+
+    private static volatile Snapshot snapshot;
+
+    private ItemValueTables() {
+    }
+
+    // Above this many changed keys a table is resolved again as a whole
+    private static final int MAX_PATCHED_KEYS = 32;
+
+    /**
+     * Rebuild the tables from the current asset map and settings. Called on Item asset (re)load.
+     */
+    public static synchronized void refresh() {
+        Snapshot built = new Snapshot(EasyHunger.get().getSettings());
+        snapshot = built;
+
+        EasyHunger.logInfo("Item value tables built: " + built.slots.size() + " items, "
+            + count(built.foodValues) + " foods, " + count(built.drinkValues) + " drinks");
+    }
+
+    /**
+     * Update the tables for newly published settings. Called by EasyHunger.publishSettings().
+     */
+    public static void rebuild(MetabolismSettings settings) {
+        build(settings);
+    }
+
+    private static synchronized Snapshot build(MetabolismSettings settings) {
+        Snapshot current = snapshot;
+        // An asset reload on another thread may already have built from newer settings
+        if (current != null && current.settingsVersion > settings.getVersion()) return current;
+
+        Snapshot built = current != null ? new Snapshot(current, settings) : new Snapshot(settings);
+        snapshot = built;
+        return built;
+    }
+
+    private static Snapshot get() {
+        Snapshot current = snapshot;
+        // Only before the first publish
+        return current != null ? current : build(EasyHunger.get().getSettings());
+    }
+
+    /**
+     * Hunger restored by an item, 0 if not configured.
+     */
+    public static float getFoodValue(@Nullable Item item) {
+        if (item == null) return 0.0f;
+        Snapshot current = get();
+        Integer slot = current.slots.get(item);
+        // Items added after the last build resolve through the settings until the next rebuild
+        float value = slot != null ? current.foodValues[slot] : current.settings.getFoodIndex().resolve(ItemIdNormalizer.baseIdOf(item.getId()));
+        return Float.isNaN(value) ? 0.0f : value;
+    }
+
+    /**
+     * Thirst restored by an item, 0 if not configured.
+     */
+    public static float getDrinkValue(@Nullable Item item) {
+        if (item == null) return 0.0f;
+        Snapshot current = get();
+        Integer slot = current.slots.get(item);
+        float value = slot != null ? current.drinkValues[slot] : current.settings.getDrinkIndex().resolve(ItemIdNormalizer.baseIdOf(item.getId()));
+        return Float.isNaN(value) ? 0.0f : value;
+    }
+
+    /**
+     * Thirst restored by a normalized item id (see ItemIdNormalizer), 0 if not configured.
+     * State variants ("*Id:State") resolve to their base item.
+     */
+    public static float getDrinkValue(@Nullable ItemIdNormalizer.NormalizedId id) {
+        if (id == null) return 0.0f;
+        if (id.getItem() != null) return getDrinkValue(id.getItem());
+
+        float value = get().settings.getDrinkIndex().resolve(id.getBaseId());
+        return Float.isNaN(value) ? 0.0f : value;
+    }
+
+    private static int count(float[] values) {
+        int configured = 0;
+        for (float value : values) {
+            if (!Float.isNaN(value)) configured++;
+        }
+        return configured;
+    }
+
+    /**
+     * The table with the slots under changed keys resolved again, the same array if nothing changed.
+     */
+    private static float[] patch(float[] previous, String[] baseIds, PrefixValueIndex index, Set<String> changedKeys) {
+        if (changedKeys.isEmpty()) return previous;
+
+        float[] values = previous.clone();
+        boolean all = changedKeys.size() > MAX_PATCHED_KEYS;
+        for (int slot = 0; slot < baseIds.length; slot++) {
+            if (all || startsWithAny(baseIds[slot], changedKeys)) {
+                values[slot] = index.resolveUncached(baseIds[slot]);
+            }
+        }
+        return values;
+    }
+
+    // A key only decides the value of ids it is a prefix of
+    private static boolean startsWithAny(String baseId, Set<String> keys) {
+        for (String key : keys) {
+            if (baseId.startsWith(key)) return true;
+        }
+        return false;
+    }
+
+    private static final class Snapshot {
+        private final long settingsVersion;
+        private final MetabolismSettings settings;
+        // Shared by every snapshot built from the same asset load
+        private final Map<Item, Integer> slots;
+        private final String[] baseIds;
+        private final float[] foodValues;
+        private final float[] drinkValues;
+
+        private Snapshot(MetabolismSettings settings) {
+            this.settingsVersion = settings.getVersion();
+            this.settings = settings;
+            this.slots = new IdentityHashMap<>();
+
+            // Empty until Item assets are loaded, lookups then resolve through the settings
+            Map<String, Item> items = Item.getAssetMap() != null ? Item.getAssetMap().getAssetMap() : Map.of();
+            String[] ids = new String[items.size()];
+            for (Item item : items.values()) {
+                if (item == null || slots.containsKey(item) || slots.size() >= ids.length) continue;
+                int slot = slots.size();
+                slots.put(item, slot);
+                ids[slot] = ItemIdNormalizer.baseIdOf(item.getId());
+            }
+            this.baseIds = Arrays.copyOf(ids, slots.size());
+
+            // Every item is visited once, the memo is left to the ids that are looked up
+            PrefixValueIndex foods = settings.getFoodIndex();
+            PrefixValueIndex drinks = settings.getDrinkIndex();
+            this.foodValues = new float[baseIds.length];
+            this.drinkValues = new float[baseIds.length];
+            for (int slot = 0; slot < baseIds.length; slot++) {
+                foodValues[slot] = foods.resolveUncached(baseIds[slot]);
+                drinkValues[slot] = drinks.resolveUncached(baseIds[slot]);
+            }
+        }
+
+        private Snapshot(Snapshot previous, MetabolismSettings settings) {
+            this.settingsVersion = settings.getVersion();
+            this.settings = settings;
+            this.slots = previous.slots;
+            this.baseIds = previous.baseIds;
+            this.foodValues = patch(previous.foodValues, baseIds, settings.getFoodIndex(),
+                settings.getFoodIndex().changedKeys(previous.settings.getFoodIndex()));
+            this.drinkValues = patch(previous.drinkValues, baseIds, settings.getDrinkIndex(),
+                settings.getDrinkIndex().changedKeys(previous.settings.getDrinkIndex()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.haas.easyhunger.commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.compat.protection.ProtectionManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command to reload the EasyHunger safe zones from SafeZones.json.
+ * Usage: /ehzones
+ */
+public class ReloadSafeZonesCommand extends AbstractPlayerCommand {
+    public static final String requiredPermission = "easyhunger.config";
+
+    public ReloadSafeZonesCommand() {
+        super("ehzones", "Reloads the EasyHunger safe zones", false);
+        this.requirePermission(requiredPermission);
+    }
+
+    @Override
+    protected void execute(
+            @Nonnull CommandContext context,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull Ref<EntityStore> ref,
+            @Nonnull PlayerRef playerRef,
+            @Nonnull World world) {
+
+        EasyHunger.get().reloadSafeZones().whenComplete((ignored, error) -> {
+            if (error != null) {
+                context.sendMessage(Message.raw("Failed to reload safe zones: " + error.getMessage()));
+                return;
+            }
+            int zoneCount = ProtectionManager.get().getSafeZones().getZoneCount();
+            context.sendMessage(Message.raw("Reloaded " + zoneCount + " safe zones."));
+        });
+    }
+}
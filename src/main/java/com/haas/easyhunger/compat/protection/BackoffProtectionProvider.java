@@ -0,0 +1,86 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.haas.easyhunger.EasyHunger;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+/**
+ * Base for providers backed by another plugin. Handles binding state and a failure backoff:
+ * after a failed check the provider is skipped for a while, doubling up to MAX_BACKOFF_NANOS,
+ * so a broken integration cannot throw on every tick.
+ * An unbound provider retries doBind() under the same backoff, so a plugin that starts (or
+ * finishes its own setup) after EasyHunger is still picked up.
+ */
+public abstract class BackoffProtectionProvider implements ProtectionProvider {
+
+    private static final long MIN_BACKOFF_NANOS = 1_000_000_000L;   // 1 second
+    private static final long MAX_BACKOFF_NANOS = 60_000_000_000L;  // 1 minute
+
+    private volatile boolean bound = false;
+    private volatile long retryAtNanos = 0L;
+    private volatile long backoffNanos = MIN_BACKOFF_NANOS;
+
+    @Override
+    public final synchronized boolean bind() {
+        try {
+            this.bound = doBind();
+        } catch (Throwable e) {
+            EasyHunger.logInfo(getName() + " integration failed to bind: " + e);
+            this.bound = false;
+        }
+
+        if (this.bound) {
+            this.backoffNanos = MIN_BACKOFF_NANOS;
+        } else {
+            backOff();
+        }
+        return this.bound;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (System.nanoTime() < this.retryAtNanos) return false;
+        return this.bound || bindLate();
+    }
+
+    private synchronized boolean bindLate() {
+        // Another thread may have bound or failed meanwhile
+        if (this.bound) return true;
+        if (System.nanoTime() < this.retryAtNanos) return false;
+
+        if (bind()) {
+            EasyHunger.logInfo("Protection provider enabled: " + getName());
+        }
+        return this.bound;
+    }
+
+    @Override
+    public final boolean isProtected(@NonNullDecl String worldName, @NonNullDecl Vector3d position) {
+        if (!isAvailable()) return false;
+        try {
+            boolean result = check(worldName, position);
+            this.backoffNanos = MIN_BACKOFF_NANOS;
+            return result;
+        } catch (Throwable e) {
+            EasyHunger.logInfo(getName() + " check failed, retrying in " + (this.backoffNanos / 1_000_000_000L) + "s: " + e);
+            backOff();
+            return false;
+        }
+    }
+
+    /**
+     * Skip checks (or bind attempts) for the current backoff, then double it.
+     */
+    private void backOff() {
+        long backoff = this.backoffNanos;
+        this.retryAtNanos = System.nanoTime() + backoff;
+        this.backoffNanos = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+    }
+
+    /**
+     * @return whether the backing plugin is present and all handles were resolved
+     */
+    protected abstract boolean doBind() throws Throwable;
+
+    protected abstract boolean check(String worldName, Vector3d position) throws Throwable;
+}
@@ -0,0 +1,82 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Essentials spawn protection (Essentials 1.8.0+: isInProtectedArea(String worldName, Vector3d entityPos)).
+ */
+public class EssentialsProtectionProvider extends BackoffProtectionProvider {
+
+    private MethodHandle isInProtectedArea;  // (String, Vector3d) -> boolean, bound to the SpawnProtectionManager
+    // Spawn world lookup, both null if it cannot be resolved
+    private MethodHandle getSpawn;           // () -> Object, bound to the storageManager
+    private MethodHandle getSpawnWorld;      // (Object spawn) -> String
+
+    @Override
+    public String getName() {
+        return "Essentials";
+    }
+
+    @Override
+    protected boolean doBind() throws Throwable {
+        Class<?> essentialsClass;
+        try {
+            essentialsClass = Class.forName("com.nhulston.essentials.Essentials");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Object essentials = lookup.unreflect(essentialsClass.getMethod("getInstance")).invoke();
+        if (essentials == null) return false;
+
+        // The field spawnProtectionManager is private, so we need to set accessible
+        Field spmField = essentialsClass.getDeclaredField("spawnProtectionManager");
+        spmField.setAccessible(true);
+        Object spawnProtectionManager = spmField.get(essentials);
+        if (spawnProtectionManager == null) return false;
+
+        Method isInProtectedAreaMethod = spawnProtectionManager.getClass().getMethod("isInProtectedArea", String.class, Vector3d.class);
+        this.isInProtectedArea = lookup.unreflect(isInProtectedAreaMethod)
+            .bindTo(spawnProtectionManager)
+            .asType(MethodType.methodType(boolean.class, String.class, Vector3d.class));
+
+        // Spawn's world name from storageManager.getSpawn().getWorld(), optional
+        try {
+            Field storageField = essentialsClass.getDeclaredField("storageManager");
+            storageField.setAccessible(true);
+            Object storageManager = storageField.get(essentials);
+            Method getSpawnMethod = storageManager.getClass().getMethod("getSpawn");
+            Method getWorldMethod = getSpawnMethod.getReturnType().getMethod("getWorld");
+
+            this.getSpawn = lookup.unreflect(getSpawnMethod).bindTo(storageManager)
+                .asType(MethodType.methodType(Object.class));
+            this.getSpawnWorld = lookup.unreflect(getWorldMethod)
+                .asType(MethodType.methodType(String.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            this.getSpawn = null;
+            this.getSpawnWorld = null;
+        }
+
+        return true;
+    }
+
+    @Override
+    protected boolean check(String worldName, Vector3d position) throws Throwable {
+        String spawnWorldName = worldName; // fallback
+        if (this.getSpawn != null) {
+            Object spawn = (Object) this.getSpawn.invokeExact();
+            if (spawn != null) {
+                String spawnWorld = (String) this.getSpawnWorld.invokeExact(spawn);
+                if (spawnWorld != null) spawnWorldName = spawnWorld;
+            }
+        }
+        return (boolean) this.isInProtectedArea.invokeExact(spawnWorldName, position);
+    }
+}
@@ -0,0 +1,83 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.haas.easyhunger.EasyHunger;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of protection providers. A position is safe when any available provider protects it.
+ * Built-in providers are registered here; other plugins can add their own with register().
+ */
+public class ProtectionManager {
+    private static final ProtectionManager instance = new ProtectionManager();
+
+    private final List<ProtectionProvider> providers = new CopyOnWriteArrayList<>();
+    private final SafeZoneProtectionProvider safeZones = new SafeZoneProtectionProvider();
+    private volatile boolean bound = false;
+
+    public ProtectionManager() {
+        // cheapest first, no reflection
+        providers.add(safeZones);
+        providers.add(new EssentialsProtectionProvider());
+        providers.add(new SafeAreasProtectionProvider());
+    }
+
+    /**
+     * Add a provider. Bound immediately if the built-in ones were already bound.
+     */
+    public void register(@NonNullDecl ProtectionProvider provider) {
+        if (this.bound) bindProvider(provider);
+        providers.add(provider);
+    }
+
+    /**
+     * Bind every provider once. Called on plugin start, when the other plugins are set up.
+     */
+    public synchronized void bindAll() {
+        if (this.bound) return;
+        for (ProtectionProvider provider : providers) {
+            bindProvider(provider);
+        }
+        this.bound = true;
+    }
+
+    public boolean isProtected(@NonNullDecl String worldName, @NonNullDecl Vector3d position) {
+        if (!this.bound) bindAll();
+        for (ProtectionProvider provider : providers) {
+            if (provider.isAvailable() && provider.isProtected(worldName, position)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether any provider can currently answer checks.
+     */
+    public boolean hasAvailableProvider() {
+        for (ProtectionProvider provider : providers) {
+            if (provider.isAvailable()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * EasyHunger's own zones, rebuilt from SafeZones.json.
+     */
+    public SafeZoneProtectionProvider getSafeZones() {
+        return safeZones;
+    }
+
+    private static void bindProvider(ProtectionProvider provider) {
+        if (provider.bind()) {
+            EasyHunger.logInfo("Protection provider enabled: " + provider.getName());
+        } else {
+            EasyHunger.logInfo("Protection provider not available: " + provider.getName());
+        }
+    }
+
+    public static ProtectionManager get() {
+        return instance;
+    }
+}
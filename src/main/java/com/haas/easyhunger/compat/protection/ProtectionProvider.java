@@ -0,0 +1,32 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+/**
+ * Source of hunger-free areas (spawn protection, region plugins, ...).
+ * Register implementations with ProtectionManager.get().register(...).
+ */
+public interface ProtectionProvider {
+    /**
+     * Short name used in logs.
+     */
+    String getName();
+
+    /**
+     * Resolve everything needed for checks (classes, method handles). Called after all plugins are set up;
+     * providers backed by another plugin may call it again themselves while unbound (see BackoffProtectionProvider).
+     * @return whether the provider can be used
+     */
+    boolean bind();
+
+    /**
+     * Whether the provider is bound and not backing off after failures. May attempt a late bind.
+     */
+    boolean isAvailable();
+
+    /**
+     * Whether the position is in an area where hunger and thirst should not drain.
+     */
+    boolean isProtected(@NonNullDecl String worldName, @NonNullDecl Vector3d position);
+}
@@ -0,0 +1,114 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * SafeAreas regions with the IMMORTAL or INVULNERABLE flag.
+ */
+public class SafeAreasProtectionProvider extends BackoffProtectionProvider {
+
+    private MethodHandle getApi;          // () -> Object, bound to the RegionManager instance
+    private MethodHandle getRegionsAt;    // (Object api, String, double, double, double) -> Set
+    private Class<?> regionFlagClass;
+    private Object[] protectingFlags;     // RegionFlag.IMMORTAL, RegionFlag.INVULNERABLE (missing ones skipped)
+
+    // Region and flag value classes are only known once a region is returned, handles are resolved per class once
+    private final ClassValue<MethodHandle> getFlagHandles = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> regionClass) {
+            try {
+                return MethodHandles.lookup().unreflect(regionClass.getMethod("getFlag", regionFlagClass))
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+    private final ClassValue<MethodHandle> getValueHandles = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> flagValueClass) {
+            try {
+                return MethodHandles.lookup().unreflect(flagValueClass.getMethod("getValue"))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "SafeAreas";
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected boolean doBind() throws Throwable {
+        Class<?> regionManagerClass;
+        try {
+            regionManagerClass = Class.forName("com.mcodelogic.safeareas.manager.RegionManager");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        Field instanceField = regionManagerClass.getDeclaredField("instance");
+        Object regionManager = instanceField.get(null);
+        if (regionManager == null) return false;
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Method getApiMethod = regionManagerClass.getMethod("getApi");
+        this.getApi = lookup.unreflect(getApiMethod).bindTo(regionManager)
+            .asType(MethodType.methodType(Object.class));
+
+        Object api = this.getApi.invokeExact();
+        if (api == null) return false;
+        Method getRegionsAtMethod = api.getClass().getMethod("getRegionsAt", String.class, double.class, double.class, double.class);
+        this.getRegionsAt = lookup.unreflect(getRegionsAtMethod)
+            .asType(MethodType.methodType(Set.class, Object.class, String.class, double.class, double.class, double.class));
+
+        this.regionFlagClass = Class.forName("com.mcodelogic.safeareas.model.enums.RegionFlag");
+        java.util.List<Object> flags = new java.util.ArrayList<>();
+        for (String flagName : new String[] {"IMMORTAL", "INVULNERABLE"}) {
+            try {
+                flags.add(Enum.valueOf((Class<Enum>) this.regionFlagClass, flagName));
+            } catch (IllegalArgumentException e) {
+                // flag not present in this SafeAreas version
+            }
+        }
+        this.protectingFlags = flags.toArray();
+        return this.protectingFlags.length > 0;
+    }
+
+    @Override
+    protected boolean check(String worldName, Vector3d position) throws Throwable {
+        Object api = (Object) this.getApi.invokeExact();
+        if (api == null) return false;
+
+        Set<?> regions = (Set<?>) this.getRegionsAt.invokeExact(api, worldName, position.getX(), position.getY(), position.getZ());
+        if (regions == null || regions.isEmpty()) return false;
+
+        for (Object region : regions) {
+            MethodHandle getFlag = this.getFlagHandles.get(region.getClass());
+            if (getFlag == null) continue;
+            for (Object flag : this.protectingFlags) {
+                if (isFlagActive((Object) getFlag.invokeExact(region, flag))) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFlagActive(Object flagValue) throws Throwable {
+        if (flagValue == null) return false;
+        MethodHandle getValue = this.getValueHandles.get(flagValue.getClass());
+        if (getValue == null) return false;
+        Object value = (Object) getValue.invokeExact(flagValue);
+        return value instanceof Boolean && (Boolean) value;
+    }
+}
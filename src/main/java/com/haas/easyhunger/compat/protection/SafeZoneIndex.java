@@ -0,0 +1,163 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.haas.easyhunger.config.SafeZonesConfig;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable form of SafeZonesConfig.
+ *
+ * Zones are bucketed per world into a uniform grid of 32x32 block columns. A lookup hashes the
+ * column of the position, probes a primitive open-addressing table and tests the few boxes in
+ * that column, so it stays constant time with thousands of zones and never allocates.
+ * Zones spanning more than MAX_CELLS_PER_ZONE columns are kept in a short list tested on every lookup.
+ */
+public final class SafeZoneIndex {
+
+    public static final SafeZoneIndex EMPTY = new SafeZoneIndex(new HashMap<>(), 0);
+
+    private static final int CELL_SHIFT = 5;
+    private static final int MAX_CELLS_PER_ZONE = 4096;
+
+    private final Map<String, WorldGrid> worlds;
+    private final int zoneCount;
+
+    private SafeZoneIndex(Map<String, WorldGrid> worlds, int zoneCount) {
+        this.worlds = worlds;
+        this.zoneCount = zoneCount;
+    }
+
+    public static SafeZoneIndex build(@Nullable SafeZonesConfig config) {
+        if (config == null || !config.isEnabled() || config.getZones() == null) return EMPTY;
+
+        Map<String, List<SafeZonesConfig.Zone>> byWorld = new HashMap<>();
+        int count = 0;
+        for (SafeZonesConfig.Zone zone : config.getZones()) {
+            if (zone == null || zone.getWorld() == null) continue;
+            byWorld.computeIfAbsent(zone.getWorld(), k -> new ArrayList<>()).add(zone);
+            count++;
+        }
+
+        Map<String, WorldGrid> worlds = new HashMap<>();
+        for (Map.Entry<String, List<SafeZonesConfig.Zone>> entry : byWorld.entrySet()) {
+            worlds.put(entry.getKey(), new WorldGrid(entry.getValue()));
+        }
+        return new SafeZoneIndex(worlds, count);
+    }
+
+    public boolean isEmpty() {
+        return zoneCount == 0;
+    }
+
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    public boolean contains(String worldName, double x, double y, double z) {
+        WorldGrid grid = worlds.get(worldName);
+        return grid != null && grid.contains((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+    }
+
+    private static final class WorldGrid {
+        // Per zone: minX, minY, minZ, maxX, maxY, maxZ (inclusive block coordinates)
+        private final int[] bounds;
+
+        // Open addressing: cell key -> zone ids in that column
+        private final long[] cellKeys;
+        private final int[][] cellZones;
+        private final int mask;
+
+        private final int[] largeZones;
+
+        WorldGrid(List<SafeZonesConfig.Zone> zones) {
+            this.bounds = new int[zones.size() * 6];
+
+            Map<Long, List<Integer>> cells = new HashMap<>();
+            List<Integer> large = new ArrayList<>();
+            for (int id = 0; id < zones.size(); id++) {
+                SafeZonesConfig.Zone zone = zones.get(id);
+                int o = id * 6;
+                bounds[o] = Math.min(zone.getMinX(), zone.getMaxX());
+                bounds[o + 1] = Math.min(zone.getMinY(), zone.getMaxY());
+                bounds[o + 2] = Math.min(zone.getMinZ(), zone.getMaxZ());
+                bounds[o + 3] = Math.max(zone.getMinX(), zone.getMaxX());
+                bounds[o + 4] = Math.max(zone.getMinY(), zone.getMaxY());
+                bounds[o + 5] = Math.max(zone.getMinZ(), zone.getMaxZ());
+
+                int minCellX = bounds[o] >> CELL_SHIFT;
+                int minCellZ = bounds[o + 2] >> CELL_SHIFT;
+                int maxCellX = bounds[o + 3] >> CELL_SHIFT;
+                int maxCellZ = bounds[o + 5] >> CELL_SHIFT;
+                long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+                if (cellCount > MAX_CELLS_PER_ZONE) {
+                    large.add(id);
+                    continue;
+                }
+                for (int cx = minCellX; cx <= maxCellX; cx++) {
+                    for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                        cells.computeIfAbsent(cellKey(cx, cz), k -> new ArrayList<>()).add(id);
+                    }
+                }
+            }
+
+            int capacity = Integer.highestOneBit(Math.max(cells.size(), 1) * 2 - 1) << 1;
+            this.mask = capacity - 1;
+            this.cellKeys = new long[capacity];
+            this.cellZones = new int[capacity][];
+            for (Map.Entry<Long, List<Integer>> entry : cells.entrySet()) {
+                long key = entry.getKey();
+                int slot = hash(key) & mask;
+                while (cellZones[slot] != null) slot = (slot + 1) & mask;
+                cellKeys[slot] = key;
+                cellZones[slot] = toArray(entry.getValue());
+            }
+            this.largeZones = toArray(large);
+        }
+
+        boolean contains(int x, int y, int z) {
+            for (int id : largeZones) {
+                if (inside(id, x, y, z)) return true;
+            }
+
+            long key = cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT);
+            int slot = hash(key) & mask;
+            int[] ids;
+            while ((ids = cellZones[slot]) != null) {
+                if (cellKeys[slot] == key) {
+                    for (int id : ids) {
+                        if (inside(id, x, y, z)) return true;
+                    }
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        private boolean inside(int id, int x, int y, int z) {
+            int o = id * 6;
+            return x >= bounds[o] && x <= bounds[o + 3]
+                && y >= bounds[o + 1] && y <= bounds[o + 4]
+                && z >= bounds[o + 2] && z <= bounds[o + 5];
+        }
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) result[i] = values.get(i);
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.haas.easyhunger.config.SafeZonesConfig;
+import com.hypixel.hytale.math.vector.Vector3d;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+/**
+ * EasyHunger's own safe zones from SafeZones.json. Needs no other plugin.
+ */
+public class SafeZoneProtectionProvider implements ProtectionProvider {
+
+    private volatile SafeZoneIndex index = SafeZoneIndex.EMPTY;
+
+    @Override
+    public String getName() {
+        return "EasyHunger SafeZones";
+    }
+
+    @Override
+    public boolean bind() {
+        return true;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return !this.index.isEmpty();
+    }
+
+    @Override
+    public boolean isProtected(@NonNullDecl String worldName, @NonNullDecl Vector3d position) {
+        return this.index.contains(worldName, position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Replace the index with one compiled from the config. Lookups in flight keep using the old one.
+     */
+    public void rebuild(SafeZonesConfig config) {
+        this.index = SafeZoneIndex.build(config);
+    }
+
+    public int getZoneCount() {
+        return this.index.getZoneCount();
+    }
+}
@@ -7,34 +7,78 @@ import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.systems.MetabolismScheduler;
 
 import javax.annotation.Nullable;
 
 public class HungerComponent implements Component<EntityStore> {
+    // Bits of the EasyHunger effects this component believes are applied
+    public static final int EFFECT_HUNGRY = 1;
+    public static final int EFFECT_STARVING = 1 << 1;
+    public static final int EFFECT_NOURISHED = 1 << 2;
+
     public static final BuilderCodec<HungerComponent> CODEC = BuilderCodec.builder(HungerComponent.class, HungerComponent::new)
             .append(new KeyedCodec<>("HungerLevel", Codec.FLOAT),
                     HungerComponent::setHungerLevel,
                     HungerComponent::getHungerLevel).add()
             .build();
 
-    private float elapsedTime = 0.0f;
+    // Hunger and thirst step, shared so both are handled in one wakeup
+    private final MetabolismScheduler.Deadline stepDeadline = new MetabolismScheduler.Deadline();
+    private final MetabolismScheduler.Deadline wellFedDeadline = new MetabolismScheduler.Deadline();
     private float lowestStaminaSeen = 10.0f;
     private float hungerLevel;
-    // Optimization: Track last sent level to avoid spamming HUD updates
-    private float lastSentHunger = -1.0f;
+    // Applied effect bits, only trusted after a reconcile with the real effect list
+    private int appliedEffects = 0;
+    private boolean effectsReconciled = false;
+    private final MetabolismScheduler.Deadline effectReconcileDeadline = new MetabolismScheduler.Deadline();
+    // Pause marker re-evaluation, at a random phase per player
+    private boolean pauseClassified = false;
+    private final MetabolismScheduler.Deadline pauseClassifyDeadline = new MetabolismScheduler.Deadline();
+    // Lazy mode (MetabolismSettings.isLazyMetabolism): while lazy the real level is
+    // hungerLevel - lazyRate * (MetabolismScheduler.clock() - lazySince), computed when read.
+    // Volatile and written last, so HUD and page threads reading the level see a consistent state.
+    private volatile boolean lazy = false;
+    private double lazySince = 0.0;
+    private float lazyRate = 0.0f;
+    private double lazyWakeupAt = 0.0;
+    private long lazySettingsVersion = 0;
+    // Set when a write ended lazy mode, MetabolismSystem then ends it for thirst too
+    private boolean lazyInterrupted = false;
+    // Jump cost tracking (edge detection + cooldown in seconds)
+    private boolean wasJumping = false;
+    private float jumpCooldown = 0.0f;
 
     public HungerComponent() {
-        this.hungerLevel = EasyHunger.get().getConfig().getMaxHunger(); // Max hunger level from config
+        this.hungerLevel = EasyHunger.get().getSettings().getMaxHunger(); // Max hunger level from config
     }
 
     public HungerComponent (float hungerLevel) {
         this.hungerLevel = hungerLevel;
     }
 
+    /**
+     * Full copy, including the schedule, applied effect bits, lazy decay and jump state.
+     * The lazy start is on the shared MetabolismScheduler clock, so it stays valid in the copy.
+     */
     public HungerComponent (HungerComponent other) {
-        this.hungerLevel = other.hungerLevel;
-        this.elapsedTime = other.elapsedTime;
+        this.stepDeadline.copyFrom(other.stepDeadline);
+        this.wellFedDeadline.copyFrom(other.wellFedDeadline);
         this.lowestStaminaSeen = other.lowestStaminaSeen;
+        this.hungerLevel = other.hungerLevel;
+        this.appliedEffects = other.appliedEffects;
+        this.effectsReconciled = other.effectsReconciled;
+        this.effectReconcileDeadline.copyFrom(other.effectReconcileDeadline);
+        this.pauseClassified = other.pauseClassified;
+        this.pauseClassifyDeadline.copyFrom(other.pauseClassifyDeadline);
+        this.lazySince = other.lazySince;
+        this.lazyRate = other.lazyRate;
+        this.lazyWakeupAt = other.lazyWakeupAt;
+        this.lazySettingsVersion = other.lazySettingsVersion;
+        this.lazyInterrupted = other.lazyInterrupted;
+        this.lazy = other.lazy;
+        this.wasJumping = other.wasJumping;
+        this.jumpCooldown = other.jumpCooldown;
     }
 
     @Nullable
@@ -43,16 +87,28 @@ public class HungerComponent implements Component<EntityStore> {
         return new HungerComponent(this);
     }
 
-    public float getElapsedTime () {
-        return this.elapsedTime;
+    /**
+     * Whether the hunger / thirst step is due on this tick. See MetabolismScheduler.
+     */
+    public boolean isStepDue(MetabolismScheduler scheduler, float tickRate) {
+        return stepDeadline.poll(scheduler, tickRate);
     }
-    public void addElapsedTime (float deltaTime) {
-        this.elapsedTime += deltaTime;
+
+    /**
+     * Schedule the next hunger / thirst step one period from now (after a lazy wakeup did the step).
+     */
+    public void restartStep(MetabolismScheduler scheduler, float tickRate) {
+        stepDeadline.restart(scheduler, tickRate);
     }
-    public void resetElapsedTime () {
-        this.elapsedTime = 0.0f;
+
+    /**
+     * Whether the well fed buffs should be re-evaluated on this tick.
+     */
+    public boolean isWellFedDue(MetabolismScheduler scheduler, float tickRate) {
+        return wellFedDeadline.poll(scheduler, tickRate);
     }
 
+    public float getLowestStaminaSeen() { return lowestStaminaSeen; }
     public float getAndResetLowestStaminaSeen() {
         float lowestStaminaSeen = this.lowestStaminaSeen;
         this.lowestStaminaSeen = 10.0f;
@@ -63,27 +119,107 @@ public class HungerComponent implements Component<EntityStore> {
         this.lowestStaminaSeen = stamina;
     }
 
-    public float getLastSentHunger() { return lastSentHunger; }
-    public void setLastSentHunger(float v) { this.lastSentHunger = v; }
+    public int getAppliedEffects() { return appliedEffects; }
+    public boolean hasAppliedEffect(int effectBit) { return (appliedEffects & effectBit) != 0; }
+    public void setAppliedEffect(int effectBit, boolean applied) {
+        if (applied) appliedEffects |= effectBit;
+        else appliedEffects &= ~effectBit;
+    }
 
-    // WellFed system elapsed time tracking
-    private float wellFedElapsedTime = 0.0f;
-    public float getWellFedElapsedTime() { return wellFedElapsedTime; }
-    public void addWellFedElapsedTime(float dt) { wellFedElapsedTime += dt; }
-    public void resetWellFedElapsedTime() { wellFedElapsedTime = 0.0f; }
+    /**
+     * Whether the applied effect bits must be rebuilt from the entity's effect list.
+     * True until the first reconcile, after invalidateAppliedEffects(), and every interval.
+     */
+    public boolean isEffectReconcileDue(MetabolismScheduler scheduler, float interval) {
+        boolean due = effectReconcileDeadline.poll(scheduler, interval);
+        return due || !effectsReconciled;
+    }
+    public void setAppliedEffects(int appliedEffects) {
+        this.appliedEffects = appliedEffects;
+        this.effectsReconciled = true;
+    }
+    public void invalidateAppliedEffects() { this.effectsReconciled = false; }
+
+    /**
+     * Whether MetabolismPauseSystem should re-evaluate this player. True on the first call and every interval.
+     */
+    public boolean isPauseClassifyDue(MetabolismScheduler scheduler, float interval) {
+        boolean due = pauseClassifyDeadline.poll(scheduler, interval);
+        if (pauseClassified && !due) return false;
+        pauseClassified = true;
+        return true;
+    }
+
+    /**
+     * Records this tick's jump state and counts the cooldown down by the tick's dt.
+     * @return true only on the tick a new jump starts and the cooldown is over
+     */
+    public boolean onJumpState(boolean jumping, float dt) {
+        if (this.jumpCooldown > 0.0f) this.jumpCooldown -= dt;
+        boolean started = jumping && !this.wasJumping;
+        this.wasJumping = jumping;
+        return started && this.jumpCooldown <= 0.0f;
+    }
+    public void startJumpCooldown(float seconds) { this.jumpCooldown = seconds; }
+
+    /**
+     * Stop stepping this player: from now on the level decays by ratePerSecond in closed form
+     * until wakeupAt, a settings change, or anything writes the level.
+     */
+    public void startLazy(MetabolismScheduler scheduler, float ratePerSecond, double wakeupAt, long settingsVersion) {
+        materialize();
+        this.lazySince = scheduler.getTime();
+        this.lazyRate = ratePerSecond;
+        this.lazyWakeupAt = wakeupAt;
+        this.lazySettingsVersion = settingsVersion;
+        this.lazy = true;
+    }
+    public boolean isLazy() { return lazy; }
+    public double getLazyWakeupAt() { return lazyWakeupAt; }
+    public long getLazySettingsVersion() { return lazySettingsVersion; }
+
+    /**
+     * Whether a write (eating, a jump, a block break, a command) ended lazy mode since the last call.
+     */
+    public boolean getAndResetLazyInterrupted() {
+        boolean interrupted = this.lazyInterrupted;
+        this.lazyInterrupted = false;
+        return interrupted;
+    }
+
+    /**
+     * Store the closed-form level and leave lazy mode.
+     */
+    public void materialize() {
+        if (!lazy) return;
+        this.hungerLevel = getHungerLevel();
+        this.lazy = false;
+    }
+
+    // The level is about to be written, lazy mode ends here
+    private void interruptLazy() {
+        if (!lazy) return;
+        materialize();
+        this.lazyInterrupted = true;
+    }
 
     public float getHungerLevel () {
-        return this.hungerLevel;
+        if (!this.lazy) return this.hungerLevel;
+        float decayed = (float) (this.lazyRate * (MetabolismScheduler.clock() - this.lazySince));
+        return Math.max(this.hungerLevel - decayed, 0.0f);
     }
     public void setHungerLevel (float hungerLevel) {
-        float max = EasyHunger.get().getConfig().getMaxHunger();
+        interruptLazy();
+        float max = EasyHunger.get().getSettings().getMaxHunger();
         this.hungerLevel = Math.max(0.0f, Math.min(hungerLevel, max));
     }
     public void feed (float amount) {
-        float max = EasyHunger.get().getConfig().getMaxHunger();
+        interruptLazy();
+        float max = EasyHunger.get().getSettings().getMaxHunger();
         this.hungerLevel = Math.min(this.hungerLevel + amount, max);
     }
     public void starve(float amount) {
+        interruptLazy();
         this.hungerLevel = Math.max(this.hungerLevel - amount, 0.0f);
     }
 
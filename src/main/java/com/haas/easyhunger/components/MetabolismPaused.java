@@ -0,0 +1,48 @@
+package com.haas.easyhunger.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.haas.easyhunger.EasyHunger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Marker for players whose hunger and thirst are paused (creative, safe zone, sleeping).
+ * The metabolism and hunger cost systems exclude it in their query, so paused players are never iterated.
+ *
+ * Not persisted: maintained by MetabolismPauseSystem and GameModeChangeListener.
+ */
+public class MetabolismPaused implements Component<EntityStore> {
+    // Why the player is paused, the marker is removed once no reason is left
+    public static final int REASON_CREATIVE = 1;
+    public static final int REASON_SAFE_ZONE = 1 << 1;
+    public static final int REASON_SLEEPING = 1 << 2;
+
+    private int reasons;
+
+    public MetabolismPaused() {
+    }
+
+    public MetabolismPaused(int reasons) {
+        this.reasons = reasons;
+    }
+
+    @Nullable
+    @Override
+    public Component<EntityStore> clone() {
+        return new MetabolismPaused(this.reasons);
+    }
+
+    public int getReasons() { return reasons; }
+    public void setReasons(int reasons) { this.reasons = reasons; }
+    public boolean hasReason(int reason) { return (reasons & reason) != 0; }
+    public void setReason(int reason, boolean active) {
+        if (active) reasons |= reason;
+        else reasons &= ~reason;
+    }
+
+    public static ComponentType<EntityStore, MetabolismPaused> getComponentType() {
+        return EasyHunger.get().getMetabolismPausedComponentType();
+    }
+}
@@ -7,10 +7,15 @@ import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.systems.MetabolismScheduler;
 
 import javax.annotation.Nullable;
 
 public class ThirstComponent implements Component<EntityStore> {
+    // Bits of the EasyHunger effects this component believes are applied
+    public static final int EFFECT_DEHYDRATED = 1;
+    public static final int EFFECT_HYDRATED = 1 << 1;
+
     public static final BuilderCodec<ThirstComponent> CODEC = BuilderCodec.builder(ThirstComponent.class, ThirstComponent::new)
             .append(new KeyedCodec<>("ThirstLevel", Codec.FLOAT),
                     ThirstComponent::setThirstLevel,
@@ -18,34 +23,41 @@ public class ThirstComponent implements Component<EntityStore> {
             .build();
 
     private float thirstLevel;
-    private float elapsedTime = 0.0f;
-    private float lastSentThirst = -1.0f;
+    // Lazy mode, see HungerComponent
+    private volatile boolean lazy = false;
+    private double lazySince = 0.0;
+    private float lazyRate = 0.0f;
+    private boolean lazyInterrupted = false;
+    // Applied effect bits, reconciled together with the HungerComponent ones
+    private int appliedEffects = 0;
 
     public ThirstComponent() {
-        this.thirstLevel = EasyHunger.get().getConfig().getMaxThirst(); // Init with Max
+        this.thirstLevel = EasyHunger.get().getSettings().getMaxThirst(); // Init with Max
     }
 
     public ThirstComponent (float thirstLevel) {
         this.thirstLevel = thirstLevel;
     }
 
+    /**
+     * Full copy, including the lazy decay and applied effect bits. See HungerComponent.
+     */
     public ThirstComponent (ThirstComponent other) {
         this.thirstLevel = other.thirstLevel;
-        this.elapsedTime = other.elapsedTime;
+        this.lazySince = other.lazySince;
+        this.lazyRate = other.lazyRate;
+        this.lazyInterrupted = other.lazyInterrupted;
+        this.lazy = other.lazy;
+        this.appliedEffects = other.appliedEffects;
     }
 
-    public float getElapsedTime () {
-        return this.elapsedTime;
-    }
-    public void addElapsedTime (float deltaTime) {
-        this.elapsedTime += deltaTime;
-    }
-    public void resetElapsedTime () {
-        this.elapsedTime = 0.0f;
+    public int getAppliedEffects() { return appliedEffects; }
+    public void setAppliedEffects(int appliedEffects) { this.appliedEffects = appliedEffects; }
+    public boolean hasAppliedEffect(int effectBit) { return (appliedEffects & effectBit) != 0; }
+    public void setAppliedEffect(int effectBit, boolean applied) {
+        if (applied) appliedEffects |= effectBit;
+        else appliedEffects &= ~effectBit;
     }
-
-    public float getLastSentThirst() { return lastSentThirst; }
-    public void setLastSentThirst(float v) { this.lastSentThirst = v; }
     
     @Nullable
     @Override
@@ -53,21 +65,64 @@ public class ThirstComponent implements Component<EntityStore> {
         return new ThirstComponent(this);
     }
 
+    /**
+     * Decay by ratePerSecond in closed form until materialized. See HungerComponent.startLazy.
+     */
+    public void startLazy(MetabolismScheduler scheduler, float ratePerSecond) {
+        materialize();
+        this.lazySince = scheduler.getTime();
+        this.lazyRate = ratePerSecond;
+        this.lazy = true;
+    }
+    public boolean isLazy() { return lazy; }
+
+    /**
+     * Whether a write (drinking, a command) ended lazy mode since the last call. See HungerComponent.
+     */
+    public boolean getAndResetLazyInterrupted() {
+        boolean interrupted = this.lazyInterrupted;
+        this.lazyInterrupted = false;
+        return interrupted;
+    }
+
+    /**
+     * Store the closed-form level and leave lazy mode.
+     */
+    public void materialize() {
+        if (!lazy) return;
+        this.thirstLevel = getThirstLevel();
+        this.lazy = false;
+    }
+
+    // The level is about to be written, lazy mode ends here
+    private void interruptLazy() {
+        if (!lazy) return;
+        materialize();
+        this.lazyInterrupted = true;
+    }
+
     public float getThirstLevel () {
-        return this.thirstLevel;
+        if (!this.lazy) return this.thirstLevel;
+        float decayed = (float) (this.lazyRate * (MetabolismScheduler.clock() - this.lazySince));
+        return Math.max(this.thirstLevel - decayed, 0.0f);
     }
 
     public void setThirstLevel (float level) {
-        float max = EasyHunger.get().getConfig().getMaxThirst();
+        interruptLazy();
+        float max = EasyHunger.get().getSettings().getMaxThirst();
         this.thirstLevel = Math.max(0.0f, Math.min(level, max));
     }
 
-    public void drink (float amount) {
-        float max = EasyHunger.get().getConfig().getMaxThirst();
+    /**
+     * @param max Max thirst of the current settings
+     */
+    public void drink (float amount, float max) {
+        interruptLazy();
         this.thirstLevel = Math.min(this.thirstLevel + amount, max);
     }
 
     public void dehydrate(float amount) {
+        interruptLazy();
         this.thirstLevel = Math.max(this.thirstLevel - amount, 0.0f);
     }
 
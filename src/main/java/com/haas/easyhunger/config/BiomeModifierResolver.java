@@ -0,0 +1,247 @@
+package com.haas.easyhunger.config;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled form of the BiomeModifiersConfig keyword maps.
+ *
+ * All hunger and thirst keywords are lowercased into a single Aho-Corasick automaton, so a
+ * biome name is scanned once, without allocating, for both multipliers. The resulting
+ * {hunger, thirst} pair is memoized per biome name; after the first lookup resolving a
+ * biome is a map hit and a primitive array read.
+ *
+ * Precedence is deterministic (the old HashMap scan was not):
+ * 1. exact, case sensitive key match
+ * 2. the keyword occurrence that ends last in the name (case insensitive), since biome
+ *    names put the most specific part last ("Valley_Forest_Frozen", "Desert_Oasis")
+ * 3. when several keywords end at the same position, the longest one
+ * 4. the default multiplier
+ *
+ * Instances are immutable apart from the memo and are rebuilt with every MetabolismSettings.
+ */
+public final class BiomeModifierResolver {
+
+    public static final int HUNGER = 0;
+    public static final int THIRST = 1;
+
+    // Biome names come from worldgen assets, this only guards against unbounded growth
+    private static final int MAX_MEMO_SIZE = 1024;
+
+    private static final float[] NEUTRAL = {1.0f, 1.0f};
+
+    private final boolean enabled;
+    private final float defaultHunger;
+    private final float defaultThirst;
+    private final Map<String, Float> exactHunger;
+    private final Map<String, Float> exactThirst;
+
+    // Automaton: ASCII chars map to a column through asciiColumns, anything else through otherColumns.
+    // Column 0 is "char not used by any keyword".
+    private final int[] asciiColumns = new int[128];
+    private final Map<Character, Integer> otherColumns = new HashMap<>();
+    private final int columnCount;
+    private final int[][] transitions;
+
+    // Per node: longest keyword in the suffix chain that carries a hunger / thirst value, or -1
+    private final int[] hungerOutput;
+    private final int[] thirstOutput;
+
+    // Per keyword
+    private final float[] keywordHunger;
+    private final float[] keywordThirst;
+
+    private final Map<String, float[]> memo = new ConcurrentHashMap<>();
+
+    private BiomeModifierResolver(
+        boolean enabled,
+        float defaultHunger,
+        float defaultThirst,
+        Map<String, Float> hungerModifiers,
+        Map<String, Float> thirstModifiers
+    ) {
+        this.enabled = enabled;
+        this.defaultHunger = defaultHunger;
+        this.defaultThirst = defaultThirst;
+        this.exactHunger = hungerModifiers;
+        this.exactThirst = thirstModifiers;
+
+        // Merge both maps by lowercase keyword. Sorted so duplicates differing only in case
+        // resolve the same way on every build.
+        TreeMap<String, float[]> keywords = new TreeMap<>();
+        mergeKeywords(keywords, new TreeMap<>(hungerModifiers), HUNGER);
+        mergeKeywords(keywords, new TreeMap<>(thirstModifiers), THIRST);
+
+        int count = keywords.size();
+        this.keywordHunger = new float[count];
+        this.keywordThirst = new float[count];
+
+        // Alphabet
+        int nextColumn = 1;
+        for (String keyword : keywords.keySet()) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c < 128) {
+                    if (asciiColumns[c] == 0) asciiColumns[c] = nextColumn++;
+                } else if (!otherColumns.containsKey(c)) {
+                    otherColumns.put(c, nextColumn++);
+                }
+            }
+        }
+        this.columnCount = nextColumn;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(newRow());
+        terminal.add(-1);
+
+        int keywordIndex = 0;
+        for (Map.Entry<String, float[]> entry : keywords.entrySet()) {
+            String keyword = entry.getKey();
+            keywordHunger[keywordIndex] = entry.getValue()[HUNGER];
+            keywordThirst[keywordIndex] = entry.getValue()[THIRST];
+
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int column = columnOf(keyword.charAt(i));
+                int next = trie.get(node)[column];
+                if (next <= 0) {
+                    next = trie.size();
+                    trie.get(node)[column] = next;
+                    trie.add(newRow());
+                    terminal.add(-1);
+                }
+                node = next;
+            }
+            terminal.set(node, keywordIndex);
+            keywordIndex++;
+        }
+
+        // Failure links (BFS), turning the trie into a full transition table
+        int nodeCount = trie.size();
+        this.transitions = trie.toArray(new int[0][]);
+        this.hungerOutput = new int[nodeCount];
+        this.thirstOutput = new int[nodeCount];
+        int[] fail = new int[nodeCount];
+
+        hungerOutput[0] = -1;
+        thirstOutput[0] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < columnCount; column++) {
+            int child = transitions[0][column];
+            if (child > 0) {
+                fail[child] = 0;
+                queue.add(child);
+            } else {
+                transitions[0][column] = 0;
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            // Own keyword wins over anything in the suffix chain, it is always longer
+            int own = terminal.get(node);
+            hungerOutput[node] = (own >= 0 && !Float.isNaN(keywordHunger[own])) ? own : hungerOutput[fail[node]];
+            thirstOutput[node] = (own >= 0 && !Float.isNaN(keywordThirst[own])) ? own : thirstOutput[fail[node]];
+
+            for (int column = 0; column < columnCount; column++) {
+                int child = transitions[node][column];
+                if (child > 0) {
+                    fail[child] = transitions[fail[node]][column];
+                    queue.add(child);
+                } else {
+                    transitions[node][column] = transitions[fail[node]][column];
+                }
+            }
+        }
+    }
+
+    public static BiomeModifierResolver compile(
+        boolean enabled,
+        float defaultHunger,
+        float defaultThirst,
+        Map<String, Float> hungerModifiers,
+        Map<String, Float> thirstModifiers
+    ) {
+        return new BiomeModifierResolver(enabled, defaultHunger, defaultThirst, hungerModifiers, thirstModifiers);
+    }
+
+    /**
+     * Resolve the {hunger, thirst} multipliers for a biome. Index with HUNGER and THIRST.
+     * The returned array is shared, do not modify it.
+     */
+    public float[] resolve(@Nullable String biomeName) {
+        if (!enabled || biomeName == null) return NEUTRAL;
+
+        float[] cached = memo.get(biomeName);
+        if (cached != null) return cached;
+
+        float[] resolved = compute(biomeName);
+        if (memo.size() < MAX_MEMO_SIZE) {
+            memo.put(biomeName, resolved);
+        }
+        return resolved;
+    }
+
+    private float[] compute(String biomeName) {
+        Float hungerExact = exactHunger.get(biomeName);
+        Float thirstExact = exactThirst.get(biomeName);
+
+        int bestHunger = -1;
+        int bestThirst = -1;
+        if (hungerExact == null || thirstExact == null) {
+            int state = 0;
+            for (int i = 0; i < biomeName.length(); i++) {
+                state = transitions[state][columnOf(Character.toLowerCase(biomeName.charAt(i)))];
+
+                // Later matches replace earlier ones, node outputs are already the longest for this position
+                if (hungerOutput[state] >= 0) bestHunger = hungerOutput[state];
+                if (thirstOutput[state] >= 0) bestThirst = thirstOutput[state];
+            }
+        }
+
+        float hunger = hungerExact != null ? hungerExact : (bestHunger >= 0 ? keywordHunger[bestHunger] : defaultHunger);
+        float thirst = thirstExact != null ? thirstExact : (bestThirst >= 0 ? keywordThirst[bestThirst] : defaultThirst);
+        return new float[] {hunger, thirst};
+    }
+
+    /** Number of biome names currently memoized. */
+    public int getMemoSize() {
+        return memo.size();
+    }
+
+    private int columnOf(char c) {
+        if (c < 128) return asciiColumns[c];
+        Integer column = otherColumns.get(c);
+        return column != null ? column : 0;
+    }
+
+    private int[] newRow() {
+        return new int[columnCount];
+    }
+
+    private static void mergeKeywords(TreeMap<String, float[]> keywords, Map<String, Float> modifiers, int slot) {
+        for (Map.Entry<String, Float> entry : modifiers.entrySet()) {
+            if (entry.getKey() == null || entry.getKey().isEmpty() || entry.getValue() == null) continue;
+            float[] values = keywords.computeIfAbsent(entry.getKey().toLowerCase(Locale.ROOT), k -> {
+                float[] pair = new float[2];
+                Arrays.fill(pair, Float.NaN);
+                return pair;
+            });
+            // First key in sorted order wins when two keys only differ in case
+            if (Float.isNaN(values[slot])) {
+                values[slot] = entry.getValue();
+            }
+        }
+    }
+}
@@ -102,48 +102,4 @@ public class BiomeModifiersConfig {
     public float getDefaultThirstMultiplier() { return defaultThirstMultiplier; }
     public Map<String, Float> getHungerModifiers() { return hungerModifiers; }
     public Map<String, Float> getThirstModifiers() { return thirstModifiers; }
-    
-    /**
-     * Get hunger multiplier for a specific biome.
-     * @param biomeName Name of the biome
-     * @return Multiplier (1.0 = normal, 2.0 = double drain, 0.5 = half drain)
-     */
-    public float getHungerMultiplier(String biomeName) {
-        if (!enabled || biomeName == null) return 1.0f;
-        
-        // Check for exact match first
-        Float modifier = hungerModifiers.get(biomeName);
-        if (modifier != null) return modifier;
-        
-        // Check for partial match (e.g., "Snow_Forest" contains "Snow")
-        for (Map.Entry<String, Float> entry : hungerModifiers.entrySet()) {
-            if (biomeName.toLowerCase().contains(entry.getKey().toLowerCase())) {
-                return entry.getValue();
-            }
-        }
-        
-        return defaultHungerMultiplier;
-    }
-    
-    /**
-     * Get thirst multiplier for a specific biome.
-     * @param biomeName Name of the biome
-     * @return Multiplier (1.0 = normal, 2.0 = double drain, 0.5 = half drain)
-     */
-    public float getThirstMultiplier(String biomeName) {
-        if (!enabled || biomeName == null) return 1.0f;
-        
-        // Check for exact match first
-        Float modifier = thirstModifiers.get(biomeName);
-        if (modifier != null) return modifier;
-        
-        // Check for partial match
-        for (Map.Entry<String, Float> entry : thirstModifiers.entrySet()) {
-            if (biomeName.toLowerCase().contains(entry.getKey().toLowerCase())) {
-                return entry.getValue();
-            }
-        }
-        
-        return defaultThirstMultiplier;
-    }
 }
@@ -0,0 +1,198 @@
+package com.haas.easyhunger.config;
+
+import com.haas.easyhunger.EasyHunger;
+import com.hypixel.hytale.codec.ExtraInfo;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.server.core.util.Config;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence for configs edited at runtime (values page, commands).
+ *
+ * markDirty only records the config. The first mark schedules a flush on a background thread
+ * after DEBOUNCE_MS, so every edit made within that window ends up in a single encode and write
+ * per file and the world thread never serializes or touches the disk. The flush encodes a config
+ * while holding its monitor, which the map setters (FoodsConfig.setFoodValue,
+ * DrinksConfig.setDrinkValue) share, so an edit never modifies a map while it is being read.
+ * A file is written to "*.tmp" and moved over the config, a crash mid write leaves the old file
+ * intact. Failed writes are retried after RETRY_MS, pending writes are flushed on plugin shutdown.
+ */
+public final class ConfigSaver {
+
+    private static final long DEBOUNCE_MS = 1000;
+    private static final long RETRY_MS = 5000;
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder()
+        .outputMode(JsonMode.RELAXED)
+        .indent(true)
+        .build();
+
+    private final Map<Config<?>, Target<?>> targets = new ConcurrentHashMap<>();
+    private final Set<Target<?>> dirtyTargets = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "EasyHunger-ConfigSaver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Stats
+    private final AtomicLong requestedSaves = new AtomicLong();
+    private final AtomicLong writtenSaves = new AtomicLong();
+
+    public ConfigSaver() {
+        // On shutdown a waiting debounce or retry is dropped, shutdown() flushes itself
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Register the file and codec a config is saved with. Called once per config on plugin construction.
+     * @param file The config's json file, the same one Config loads
+     */
+    public <T> void track(Config<T> config, Path file, BuilderCodec<T> codec) {
+        targets.put(config, new Target<>(config, file, codec));
+    }
+
+    /**
+     * Queue a save of the config. Safe to call from any thread.
+     */
+    public void markDirty(Config<?> config) {
+        Target<?> target = targets.get(config);
+        if (target == null) {
+            // Not tracked, saved directly
+            config.save();
+            return;
+        }
+
+        requestedSaves.incrementAndGet();
+        dirtyTargets.add(target);
+        scheduleFlush(DEBOUNCE_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::scheduledFlush, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Already shut down, nothing will flush later
+                flushScheduled.set(false);
+                flush();
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        // Cleared first, so an edit made during the flush schedules the next one
+        flushScheduled.set(false);
+        flush();
+    }
+
+    /**
+     * Save every dirty config now, on the calling thread.
+     */
+    public synchronized void flush() {
+        boolean failed = false;
+        Iterator<Target<?>> iterator = dirtyTargets.iterator();
+        while (iterator.hasNext()) {
+            Target<?> target = iterator.next();
+            // Removed before encoding, so a change made meanwhile marks it dirty again
+            iterator.remove();
+            try {
+                target.write(target.encode());
+                writtenSaves.incrementAndGet();
+            } catch (IOException e) {
+                EasyHunger.LOGGER.at(Level.WARNING).log("Failed to save config " + target.file.getFileName() + ": " + e.getMessage());
+                dirtyTargets.add(target);
+                failed = true;
+            }
+        }
+
+        // Not counted as a new request. On shutdown there is no next flush.
+        if (failed && !executor.isShutdown()) {
+            scheduleFlush(RETRY_MS);
+        }
+    }
+
+    /**
+     * Stop the background thread and write everything still pending. Called on plugin shutdown.
+     */
+    public void shutdown() {
+        // Not shutdownNow(), interrupting a write would fail it
+        executor.shutdown();
+        try {
+            // Let a flush that is already running finish
+            executor.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public long getRequestedSaves() {
+        return requestedSaves.get();
+    }
+
+    public long getWrittenSaves() {
+        return writtenSaves.get();
+    }
+
+    /**
+     * Number of save requests merged into another write instead of causing their own.
+     */
+    public long getCoalescedSaves() {
+        return requestedSaves.get() - writtenSaves.get();
+    }
+
+    /**
+     * A tracked config with the file and codec it is saved with.
+     */
+    private static final class Target<T> {
+        private final Config<T> config;
+        private final Path file;
+        private final Path tempFile;
+        private final BuilderCodec<T> codec;
+
+        private Target(Config<T> config, Path file, BuilderCodec<T> codec) {
+            this.config = config;
+            this.file = file;
+            this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            this.codec = codec;
+        }
+
+        private String encode() {
+            T value = config.get();
+            synchronized (value) {
+                return codec.encode(value, ExtraInfo.THREAD_LOCAL.get()).asDocument().toJson(JSON);
+            }
+        }
+
+        private void write(String json) throws IOException {
+            Files.createDirectories(file.getParent());
+            Files.writeString(tempFile, json, StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
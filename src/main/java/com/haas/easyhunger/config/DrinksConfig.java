@@ -116,24 +116,8 @@ public class DrinksConfig {
     
     public Map<String, Float> getDrinkValues() { return drinkValues; }
     
-    public Float getDrinkValue(String drinkId) {
-        // First try exact match
-        Float value = drinkValues.get(drinkId);
-        if (value != null && value > 0) {
-            return value;
-        }
-        
-        // Then try partial match (config key is prefix of actual ID)
-        for (Map.Entry<String, Float> entry : drinkValues.entrySet()) {
-            if (drinkId != null && drinkId.startsWith(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        
-        return 0.0f;
-    }
-    
-    public void setDrinkValue(String drinkId, float value) {
+    // Synchronized with the ConfigSaver encoding this config on its own thread
+    public synchronized void setDrinkValue(String drinkId, float value) {
         try {
             drinkValues.put(drinkId, value);
         } catch (UnsupportedOperationException e) {
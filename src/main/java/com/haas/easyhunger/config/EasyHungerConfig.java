@@ -33,6 +33,7 @@ public class EasyHungerConfig {
 
     private static final KeyedCodec<Float> THIRST_DAMAGE = new KeyedCodec<>("ThirstDamage", Codec.FLOAT);
     private static final KeyedCodec<Boolean> PAUSE_WHILE_SLEEPING = new KeyedCodec<>("PauseWhileSleeping", Codec.BOOLEAN);
+    private static final KeyedCodec<Boolean> LAZY_METABOLISM = new KeyedCodec<>("LazyMetabolism", Codec.BOOLEAN);
 
     // Well Fed Configuration
     private static final KeyedCodec<Boolean> WELL_FED_ENABLED = new KeyedCodec<>("WellFedEnabled", Codec.BOOLEAN);
@@ -64,6 +65,9 @@ public class EasyHungerConfig {
             
             // === SLEEP PAUSE ===
             .addField(PAUSE_WHILE_SLEEPING, (c, v) -> c.pauseWhileSleeping = v, EasyHungerConfig::isPauseWhileSleeping)
+
+            // === PERFORMANCE ===
+            .addField(LAZY_METABOLISM, (c, v) -> c.lazyMetabolism = v, EasyHungerConfig::isLazyMetabolism)
             
             // === WELL FED BONUS ===
             .addField(WELL_FED_ENABLED, (c, v) -> c.wellFedEnabled = v, EasyHungerConfig::isWellFedEnabled)
@@ -91,6 +95,7 @@ public class EasyHungerConfig {
     private float sprintThirstMultiplier = 1.5f;
     private float thirstyThreshold = 20.0f; // Same as hungryThreshold
     private boolean pauseWhileSleeping = true; // Pause hunger/thirst while sleeping
+    private boolean lazyMetabolism = false; // Skip steps for idle players, levels computed when observed
 
     // Well Fed settings
     private boolean wellFedEnabled = true;
@@ -133,6 +138,7 @@ public class EasyHungerConfig {
     public float getSprintThirstMultiplier() { return sprintThirstMultiplier; }
     public float getThirstyThreshold() { return thirstyThreshold; }
     public boolean isPauseWhileSleeping() { return pauseWhileSleeping; }
+    public boolean isLazyMetabolism() { return lazyMetabolism; }
     
     // Well Fed getters
     public boolean isWellFedEnabled() { return wellFedEnabled; }
@@ -161,6 +167,7 @@ public class EasyHungerConfig {
     // Other setters
     public void setHudPosition(HudPosition value) { this.hudPosition = value; }
     public void setPauseWhileSleeping(boolean value) { this.pauseWhileSleeping = value; }
+    public void setLazyMetabolism(boolean value) { this.lazyMetabolism = value; }
     public void setWellFedEnabled(boolean value) { this.wellFedEnabled = value; }
     public void setWellFedThreshold(float value) { this.wellFedThreshold = value; }
 
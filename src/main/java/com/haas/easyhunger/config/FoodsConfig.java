@@ -329,12 +329,8 @@ public class FoodsConfig {
     
     public Map<String, Float> getFoodValues() { return foodValues; }
     
-    public Float getFoodValue(String foodId) {
-        Float value = foodValues.get(foodId);
-        return value != null ? value : 0.0f;
-    }
-    
-    public void setFoodValue(String foodId, float value) {
+    // Synchronized with the ConfigSaver encoding this config on its own thread
+    public synchronized void setFoodValue(String foodId, float value) {
         try {
             foodValues.put(foodId, value);
         } catch (UnsupportedOperationException e) {
@@ -0,0 +1,248 @@
+package com.haas.easyhunger.config;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+
+/**
+ * Configuration file for the mod categories shown as filters on the values page.
+ * Stored in: config/ItemCategories.json
+ *
+ * An item belongs to the category listing its exact id (case sensitive). Otherwise the first
+ * category, in file order, with a matching prefix, namespace ("mod:Item") or keyword wins;
+ * those are case insensitive. Items matching nothing are "other".
+ */
+public class ItemCategoriesConfig {
+
+    private static final String[] NONE = new String[0];
+
+    private static final KeyedCodec<Category[]> CATEGORIES = new KeyedCodec<>("Categories", new ArrayCodec<>(Category.CODEC, Category[]::new));
+
+    public static final BuilderCodec<ItemCategoriesConfig> CODEC = BuilderCodec.builder(ItemCategoriesConfig.class, ItemCategoriesConfig::new)
+            .addField(CATEGORIES, (c, v) -> c.categories = v, ItemCategoriesConfig::getCategories)
+            .build();
+
+    private Category[] categories = {
+        // SNIP3 FoodPack
+        new Category("snip3", new String[] {
+            // Foods (68 items total)
+            "Food_Bibimbap",
+            "Food_Cheese_Burger",
+            "Food_Cheese_Cake",
+            "Food_Chicken_Burger",
+            "Food_Chicken_Nuggets",
+            "Food_Chicken_Tenders",
+            "Food_Chocolate_Cake",
+            "Food_Completo",
+            "Food_Dumpling_Gyoza",
+            "Food_Dumpling_Samosa",
+            "Food_Egg_Bacon",
+            "Food_Falafel_Bread",
+            "Food_Fish_Chip",
+            "Food_Fried_Egg",
+            "Food_Fried_Potato",
+            "Food_Grilled_Aubergine",
+            "Food_Gyudon",
+            "Food_Ham_Burger",
+            "Food_Hot_Dog",
+            "Food_Kebab_Bread",
+            "Food_Mud_Cake",
+            "Food_Oat_Porridge",
+            "Food_Oat_Porridge_Berry",
+            "Food_Omelette",
+            "Food_Pasta",
+            "Food_Pasta_Bologonese",
+            "Food_Pasta_Carbonara",
+            "Food_Pasta_Mushroom",
+            "Food_Pasta_Tomato",
+            "Food_Pizza_Cheese",
+            "Food_Pizza_Kebab",
+            "Food_Pizza_Mushroom",
+            "Food_Pizza_Pepperoni",
+            "Food_Ramen_Pork",
+            "Food_Red_Velvet_Cake",
+            "Food_Roasted_Cauliflower",
+            "Food_Sandwich_Fried_Egg",
+            "Food_Sandwich_Steak_Cheese",
+            "Food_Sauce_Dog",
+            "Food_Soup_BeetRoot",
+            "Food_Soup_Meat",
+            "Food_Soup_Mushroom",
+            "Food_Special_Cake",
+            "Food_Steak_Chip",
+            "Food_Sushi_Egg",
+            "Food_Sushi_Roll",
+            "Food_Sushi_Salmon",
+            "Food_Sushi_Tuna",
+            "Food_Taco",
+            "Food_Takoyaki",
+            // Jams
+            "Food_Jam_Apple",
+            "Food_Jam_Azure",
+            "Food_Jam_Berry",
+            "Food_Jam_Mango",
+            "Food_Jam_PinkBerry",
+            "Food_Jam_PoisonTree",
+            "Food_Jam_SpiralTree",
+            "Food_Jam_WindWillow",
+            // Juices (drinks)
+            "Food_Juice_Apple",
+            "Food_Juice_Azure",
+            "Food_Juice_Berry",
+            "Food_Juice_Carrot",
+            "Food_Juice_Mango",
+            "Food_Juice_Pinkberry",
+            "Food_Juice_PoisonTree",
+            "Food_Juice_SpiralTree",
+            "Food_Juice_WindWillow",
+            // Ingredients
+            "Ingredient_Raw_Fries_Potato",
+            "Ingredient_Raw_Pasta"
+        }, NONE, NONE, NONE),
+        // HiddensHarvestDelights
+        new Category("hiddens", new String[] {
+            "Avacado_Toast",
+            "Beef_Well_Don",
+            "Berry_Glazed_Cod",
+            "Birthday_Cake",
+            "Burger_Fries",
+            "Charcuterie_Board",
+            "Cheese_Steak",
+            "Chicken_Buttered",
+            "Chicken_Dumplings",
+            "Chocolate_Swissroll",
+            "Completo_Plate",
+            "Egg_Benny_Toast",
+            "Egg_Toast",
+            "Fajita_Skillet",
+            "Fish_Tacos",
+            "Fish_Tacos_Corn",
+            "Fried_Chicken_Dinner",
+            "General_Whos_Chicken",
+            "Hamburger_Steak",
+            "HiddenIsme_Pico",
+            "Hot_Dogs",
+            "Ingredient_Butter",
+            "Ingredient_Sugar",
+            "Junk_Cake",
+            "Kebab_Beef",
+            "Mac_Cheese",
+            "Mango_Juice",
+            "Meat_Toast",
+            "Minced_Meat_Cutlet",
+            "Omelette_Fried_Rice",
+            "Pizza_Flatbread",
+            "Pork_Cutlet_Sandwhich",
+            "Potato_Nachos",
+            "Regular_Cheesecake",
+            "Saucy_Katsudon",
+            "Shepps_Pie",
+            "Spaghetti",
+            "Steak_Dinner",
+            "Steak_Tower",
+            "Sushi_Platter",
+            "Three_Elote",
+            "Torta_Milanesa",
+            "Tostada_Homemade",
+            "Tuna_Rice",
+            "Twice_Baked_Potato",
+            "Veggie_Pizza_Flatbread",
+            "Wings_And_Fries"
+        }, NONE, NONE, NONE),
+        // Food Galore
+        new Category("galore", new String[] {
+            "Burger",
+            "CoffeeCup",
+            "Cup",
+            "EggToast",
+            "FoodOrb",
+            "FriedEgg",
+            "GoldenApple",
+            "GoldenCarrot",
+            "IceCream",
+            "MilkBox",
+            "Omelet",
+            "Onigiri",
+            "Pizza",
+            "Plate",
+            "Pudding",
+            "Sandwich",
+            "SpeedCup",
+            "SprinkleIceCream",
+            "Sushi",
+            "Toast"
+        }, NONE, NONE, NONE),
+        // Connor More Food Stuff
+        new Category("connor", new String[] {
+            "Food_Bread_Slices",
+            "Food_Butter",
+            "Food_Drink_Apple",
+            "Food_Drink_Berry",
+            "Food_Drink_Berry_Shake",
+            "Food_Drink_Coconut_Milk",
+            "Food_Drink_Mango",
+            "Food_Drink_Milk",
+            "Food_Mango_Pie",
+            "Food_Pie_Azure",
+            "Food_Pie_Berry",
+            "Food_Pie_Pink_Berry",
+            "Food_Salad_Corn"
+        }, NONE, NONE, NONE),
+        new Category("nocube", NONE, new String[] {"NoCube_"}, NONE, NONE),
+        // Ale & Hearth / Brewery, the exact ids would otherwise be vanilla
+        new Category("ale", new String[] {
+            "Food_Plate_Egg",
+            "Food_Plate_Sausages",
+            "Food_Sandwich"
+        }, new String[] {"Bowl_", "Brewery_"}, NONE, new String[] {"AleAndHearth"}),
+        // AndiemgCheff (both prefixes)
+        new Category("cheff", NONE, new String[] {"AndiemgCheff_", "AndieChef_"}, NONE, NONE),
+        // Hytale base game
+        new Category("vanilla", NONE, new String[] {"Food_", "Plant_", "Ingredient_", "Halloween_", "Christmas_"}, NONE, NONE)
+    };
+
+    public Category[] getCategories() { return categories; }
+
+    /**
+     * One filter category and the rules selecting its items.
+     */
+    public static class Category {
+        private static final KeyedCodec<String> NAME = new KeyedCodec<>("Name", Codec.STRING);
+        private static final KeyedCodec<String[]> IDS = new KeyedCodec<>("Ids", new ArrayCodec<>(Codec.STRING, String[]::new));
+        private static final KeyedCodec<String[]> PREFIXES = new KeyedCodec<>("Prefixes", new ArrayCodec<>(Codec.STRING, String[]::new));
+        private static final KeyedCodec<String[]> NAMESPACES = new KeyedCodec<>("Namespaces", new ArrayCodec<>(Codec.STRING, String[]::new));
+        private static final KeyedCodec<String[]> KEYWORDS = new KeyedCodec<>("Keywords", new ArrayCodec<>(Codec.STRING, String[]::new));
+
+        public static final BuilderCodec<Category> CODEC = BuilderCodec.builder(Category.class, Category::new)
+                .addField(NAME, (c, v) -> c.name = v, Category::getName)
+                .addField(IDS, (c, v) -> c.ids = v, Category::getIds)
+                .addField(PREFIXES, (c, v) -> c.prefixes = v, Category::getPrefixes)
+                .addField(NAMESPACES, (c, v) -> c.namespaces = v, Category::getNamespaces)
+                .addField(KEYWORDS, (c, v) -> c.keywords = v, Category::getKeywords)
+                .build();
+
+        private String name = "";
+        private String[] ids = NONE;
+        private String[] prefixes = NONE;
+        private String[] namespaces = NONE;
+        private String[] keywords = NONE;
+
+        public Category() {
+        }
+
+        private Category(String name, String[] ids, String[] prefixes, String[] namespaces, String[] keywords) {
+            this.name = name;
+            this.ids = ids;
+            this.prefixes = prefixes;
+            this.namespaces = namespaces;
+            this.keywords = keywords;
+        }
+
+        public String getName() { return name; }
+        public String[] getIds() { return ids; }
+        public String[] getPrefixes() { return prefixes; }
+        public String[] getNamespaces() { return namespaces; }
+        public String[] getKeywords() { return keywords; }
+    }
+}
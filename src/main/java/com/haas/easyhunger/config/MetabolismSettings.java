@@ -0,0 +1,166 @@
+package com.haas.easyhunger.config;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of every value read on the tick hot paths.
+ * Compiled from EasyHungerConfig, BiomeModifiersConfig, FoodsConfig and DrinksConfig
+ * and published as a whole by EasyHunger.publishSettings(), so a system that grabs it
+ * once per tick always sees a consistent set of values, even while the config page is editing.
+ */
+public final class MetabolismSettings {
+
+    private final long version;
+
+    // Hunger
+    private final int maxHunger;
+    private final float starvationTickRate;
+    private final float starvationPerTick;
+    private final float starvationStaminaModifier;
+    private final float hungryThreshold;
+    private final float starvationDamage;
+    private final float blockBreakHungerCost;
+    private final float jumpHungerCost;
+
+    // Thirst
+    private final boolean thirstEnabled;
+    private final int maxThirst;
+    private final float thirstDecayRate;
+    private final float sprintThirstMultiplier;
+    private final float thirstyThreshold;
+    private final float thirstDamage;
+
+    // Other
+    private final boolean pauseWhileSleeping;
+    private final boolean lazyMetabolism;
+    private final boolean wellFedEnabled;
+    private final float wellFedThreshold;
+    private final HudPosition hudPosition;
+
+    // Biome modifiers
+    private final boolean biomeModifiersEnabled;
+    private final BiomeModifierResolver biomeModifiers;
+
+    // Food / drink values, longest prefix match
+    private final PrefixValueIndex foodValues;
+    private final PrefixValueIndex drinkValues;
+
+    private MetabolismSettings(
+        long version,
+        EasyHungerConfig config,
+        BiomeModifiersConfig biomeConfig,
+        FoodsConfig foodsConfig,
+        DrinksConfig drinksConfig
+    ) {
+        this.version = version;
+
+        this.maxHunger = config.getMaxHunger() != null ? config.getMaxHunger() : 50;
+        this.starvationTickRate = config.getStarvationTickRate();
+        this.starvationPerTick = config.getStarvationPerTick();
+        this.starvationStaminaModifier = config.getStarvationStaminaModifier();
+        this.hungryThreshold = config.getHungryThreshold();
+        this.starvationDamage = config.getStarvationDamage();
+        this.blockBreakHungerCost = config.getBlockBreakHungerCost();
+        this.jumpHungerCost = config.getJumpHungerCost();
+
+        this.thirstEnabled = config.isThirstEnabled();
+        this.maxThirst = config.getMaxThirst() != null ? config.getMaxThirst() : 50;
+        this.thirstDecayRate = config.getThirstDecayRate();
+        this.sprintThirstMultiplier = config.getSprintThirstMultiplier();
+        this.thirstyThreshold = config.getThirstyThreshold();
+        this.thirstDamage = config.getThirstDamage();
+
+        this.pauseWhileSleeping = config.isPauseWhileSleeping();
+        this.lazyMetabolism = config.isLazyMetabolism();
+        this.wellFedEnabled = config.isWellFedEnabled();
+        this.wellFedThreshold = config.getWellFedThreshold();
+        this.hudPosition = config.getHudPosition();
+
+        this.biomeModifiersEnabled = biomeConfig.isEnabled();
+        this.biomeModifiers = BiomeModifierResolver.compile(
+            biomeConfig.isEnabled(),
+            biomeConfig.getDefaultHungerMultiplier(),
+            biomeConfig.getDefaultThirstMultiplier(),
+            copyOf(biomeConfig.getHungerModifiers()),
+            copyOf(biomeConfig.getThirstModifiers())
+        );
+
+        this.foodValues = PrefixValueIndex.compile(foodsConfig.getFoodValues());
+        this.drinkValues = PrefixValueIndex.compile(drinksConfig.getDrinkValues());
+    }
+
+    public static MetabolismSettings compile(
+        long version,
+        EasyHungerConfig config,
+        BiomeModifiersConfig biomeConfig,
+        FoodsConfig foodsConfig,
+        DrinksConfig drinksConfig
+    ) {
+        return new MetabolismSettings(version, config, biomeConfig, foodsConfig, drinksConfig);
+    }
+
+    private static Map<String, Float> copyOf(@Nullable Map<String, Float> source) {
+        return source != null ? Map.copyOf(source) : Map.of();
+    }
+
+    /** Monotonic version, bumped on every publish. */
+    public long getVersion() { return version; }
+
+    public int getMaxHunger() { return maxHunger; }
+    public float getStarvationTickRate() { return starvationTickRate; }
+    public float getStarvationPerTick() { return starvationPerTick; }
+    public float getStarvationStaminaModifier() { return starvationStaminaModifier; }
+    public float getHungryThreshold() { return hungryThreshold; }
+    public float getStarvationDamage() { return starvationDamage; }
+    public float getBlockBreakHungerCost() { return blockBreakHungerCost; }
+    public float getJumpHungerCost() { return jumpHungerCost; }
+
+    public boolean isThirstEnabled() { return thirstEnabled; }
+    public int getMaxThirst() { return maxThirst; }
+    public float getThirstDecayRate() { return thirstDecayRate; }
+    public float getSprintThirstMultiplier() { return sprintThirstMultiplier; }
+    public float getThirstyThreshold() { return thirstyThreshold; }
+    public float getThirstDamage() { return thirstDamage; }
+
+    public boolean isPauseWhileSleeping() { return pauseWhileSleeping; }
+    public boolean isLazyMetabolism() { return lazyMetabolism; }
+    public boolean isWellFedEnabled() { return wellFedEnabled; }
+    public float getWellFedThreshold() { return wellFedThreshold; }
+    public HudPosition getHudPosition() { return hudPosition; }
+
+    public boolean isBiomeModifiersEnabled() { return biomeModifiersEnabled; }
+
+    /**
+     * Get the {hunger, thirst} multipliers for a biome in one lookup.
+     * Index with BiomeModifierResolver.HUNGER / THIRST. Shared array, do not modify.
+     */
+    public float[] getBiomeMultipliers(@Nullable String biomeName) {
+        return biomeModifiers.resolve(biomeName);
+    }
+
+    /**
+     * Hunger restored by a food item, 0 if not configured.
+     * Uses the longest configured key that is a prefix of the ID (exact match first).
+     */
+    public float getFoodValue(@Nullable String foodId) {
+        float value = foodValues.resolve(foodId);
+        return Float.isNaN(value) ? 0.0f : value;
+    }
+
+    /**
+     * Thirst restored by a drink item, 0 if not configured.
+     * Uses the longest configured key that is a prefix of the ID (exact match first).
+     * An exact key set to 0 disables the drink, it no longer falls through to a shorter prefix.
+     */
+    public float getDrinkValue(@Nullable String drinkId) {
+        float value = drinkValues.resolve(drinkId);
+        return Float.isNaN(value) ? 0.0f : value;
+    }
+
+    /** Compiled food values, resolve() returns NaN for unconfigured ids. */
+    public PrefixValueIndex getFoodIndex() { return foodValues; }
+
+    /** Compiled drink values, resolve() returns NaN for unconfigured ids. */
+    public PrefixValueIndex getDrinkIndex() { return drinkValues; }
+}
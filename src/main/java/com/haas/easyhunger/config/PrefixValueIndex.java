@@ -0,0 +1,168 @@
+package com.haas.easyhunger.config;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled form of a FoodsConfig / DrinksConfig value map.
+ *
+ * Keys are stored in a trie; an item id resolves to the value of the longest key that is a prefix
+ * of it (an exact key is always the longest), so the result no longer depends on HashMap order.
+ * Lookups walk the id once and the resolved value is memoized per id. Bulk builds that visit every
+ * item once use resolveUncached, so the memo only holds ids that are actually looked up.
+ *
+ * Immutable apart from the memo and rebuilt with every MetabolismSettings, so edits from the
+ * values page swap in a complete new index.
+ */
+public final class PrefixValueIndex {
+
+    // Item ids come from assets, this only guards against unbounded growth
+    private static final int MAX_MEMO_SIZE = 4096;
+
+    // Flattened trie. Node 0 is the root; edges of a node are contiguous and sorted by char.
+    private final float[] nodeValues;
+    private final int[] nodeFirstEdge;
+    private final int[] nodeEdgeCount;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    // The configured keys and values the trie was built from
+    private final Map<String, Float> keys = new HashMap<>();
+    private final Map<String, Float> memo = new ConcurrentHashMap<>();
+
+    private PrefixValueIndex(Map<String, Float> values) {
+        // Build a pointer trie first, sorted children keep the flattened edges ordered
+        BuildNode root = new BuildNode();
+        for (Map.Entry<String, Float> entry : values.entrySet()) {
+            String key = entry.getKey();
+            Float value = entry.getValue();
+            if (key == null || key.isEmpty() || value == null) continue;
+
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            node.value = value;
+            keys.put(key, value);
+        }
+
+        // Flatten breadth first
+        List<BuildNode> order = new ArrayList<>();
+        ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            node.id = order.size();
+            order.add(node);
+            queue.addAll(node.children.values());
+        }
+
+        int nodeCount = order.size();
+        this.nodeValues = new float[nodeCount];
+        this.nodeFirstEdge = new int[nodeCount];
+        this.nodeEdgeCount = new int[nodeCount];
+        this.edgeChars = new char[Math.max(nodeCount - 1, 0)];
+        this.edgeTargets = new int[Math.max(nodeCount - 1, 0)];
+
+        int edge = 0;
+        for (BuildNode node : order) {
+            nodeValues[node.id] = node.value;
+            nodeFirstEdge[node.id] = edge;
+            nodeEdgeCount[node.id] = node.children.size();
+            for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                edgeChars[edge] = child.getKey();
+                edgeTargets[edge] = child.getValue().id;
+                edge++;
+            }
+        }
+    }
+
+    public static PrefixValueIndex compile(@Nullable Map<String, Float> values) {
+        return new PrefixValueIndex(values != null ? values : Map.of());
+    }
+
+    /**
+     * Value of the longest configured key that is a prefix of the id, NaN if none.
+     */
+    public float resolve(@Nullable String id) {
+        if (id == null) return Float.NaN;
+
+        Float cached = memo.get(id);
+        if (cached != null) return cached;
+
+        float resolved = lookup(id);
+        if (memo.size() < MAX_MEMO_SIZE) {
+            memo.put(id, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Same as resolve, without reading or filling the memo.
+     */
+    public float resolveUncached(@Nullable String id) {
+        return id != null ? lookup(id) : Float.NaN;
+    }
+
+    /**
+     * Keys added, removed or given another value compared to an older index.
+     */
+    public Set<String> changedKeys(PrefixValueIndex previous) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Float> entry : keys.entrySet()) {
+            if (!entry.getValue().equals(previous.keys.get(entry.getKey()))) changed.add(entry.getKey());
+        }
+        for (String key : previous.keys.keySet()) {
+            if (!keys.containsKey(key)) changed.add(key);
+        }
+        return changed;
+    }
+
+    private float lookup(String id) {
+        float best = nodeValues[0];
+        int node = 0;
+        for (int i = 0; i < id.length(); i++) {
+            node = child(node, id.charAt(i));
+            if (node < 0) break;
+            if (!Float.isNaN(nodeValues[node])) best = nodeValues[node];
+        }
+        return best;
+    }
+
+    private int child(int node, char c) {
+        int low = nodeFirstEdge[node];
+        int high = low + nodeEdgeCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) low = mid + 1;
+            else if (midChar > c) high = mid - 1;
+            else return edgeTargets[mid];
+        }
+        return -1;
+    }
+
+    /** Number of configured keys. */
+    public int size() {
+        return keys.size();
+    }
+
+    /** Number of item ids currently memoized. */
+    public int getMemoSize() {
+        return memo.size();
+    }
+
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private float value = Float.NaN;
+        private int id;
+    }
+}
@@ -0,0 +1,94 @@
+package com.haas.easyhunger.config;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+
+/**
+ * Configuration file for EasyHunger's own hunger-free zones (spawn, towns, arenas).
+ * Stored in: config/SafeZones.json
+ *
+ * Each zone is a box of block coordinates in one world, both corners included.
+ */
+public class SafeZonesConfig {
+
+    private static final KeyedCodec<Boolean> ENABLED = new KeyedCodec<>("Enabled", Codec.BOOLEAN);
+    private static final KeyedCodec<Zone[]> ZONES = new KeyedCodec<>("Zones", new ArrayCodec<>(Zone.CODEC, Zone[]::new));
+
+    public static final BuilderCodec<SafeZonesConfig> CODEC = BuilderCodec.builder(SafeZonesConfig.class, SafeZonesConfig::new)
+            .addField(ENABLED, (c, v) -> c.enabled = v, SafeZonesConfig::isEnabled)
+            .addField(ZONES, (c, v) -> c.zones = v, SafeZonesConfig::getZones)
+            .build();
+
+    private boolean enabled = true;
+    private Zone[] zones = new Zone[0];
+
+    public SafeZonesConfig() {
+    }
+
+    public SafeZonesConfig(boolean enabled, Zone[] zones) {
+        this.enabled = enabled;
+        this.zones = zones;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public Zone[] getZones() { return zones; }
+
+    /**
+     * A single box. Corners may be given in any order.
+     */
+    public static class Zone {
+        private static final KeyedCodec<String> NAME = new KeyedCodec<>("Name", Codec.STRING);
+        private static final KeyedCodec<String> WORLD = new KeyedCodec<>("World", Codec.STRING);
+        private static final KeyedCodec<Integer> MIN_X = new KeyedCodec<>("MinX", Codec.INTEGER);
+        private static final KeyedCodec<Integer> MIN_Y = new KeyedCodec<>("MinY", Codec.INTEGER);
+        private static final KeyedCodec<Integer> MIN_Z = new KeyedCodec<>("MinZ", Codec.INTEGER);
+        private static final KeyedCodec<Integer> MAX_X = new KeyedCodec<>("MaxX", Codec.INTEGER);
+        private static final KeyedCodec<Integer> MAX_Y = new KeyedCodec<>("MaxY", Codec.INTEGER);
+        private static final KeyedCodec<Integer> MAX_Z = new KeyedCodec<>("MaxZ", Codec.INTEGER);
+
+        public static final BuilderCodec<Zone> CODEC = BuilderCodec.builder(Zone.class, Zone::new)
+                .addField(NAME, (c, v) -> c.name = v, Zone::getName)
+                .addField(WORLD, (c, v) -> c.world = v, Zone::getWorld)
+                .addField(MIN_X, (c, v) -> c.minX = v, Zone::getMinX)
+                .addField(MIN_Y, (c, v) -> c.minY = v, Zone::getMinY)
+                .addField(MIN_Z, (c, v) -> c.minZ = v, Zone::getMinZ)
+                .addField(MAX_X, (c, v) -> c.maxX = v, Zone::getMaxX)
+                .addField(MAX_Y, (c, v) -> c.maxY = v, Zone::getMaxY)
+                .addField(MAX_Z, (c, v) -> c.maxZ = v, Zone::getMaxZ)
+                .build();
+
+        private String name = "";
+        private String world = "default";
+        private int minX;
+        private int minY;
+        private int minZ;
+        private int maxX;
+        private int maxY;
+        private int maxZ;
+
+        public Zone() {
+        }
+
+        public Zone(String name, String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.name = name;
+            this.world = world;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+        }
+
+        public String getName() { return name; }
+        public String getWorld() { return world; }
+        public int getMinX() { return minX; }
+        public int getMinY() { return minY; }
+        public int getMinZ() { return minZ; }
+        public int getMaxX() { return maxX; }
+        public int getMaxY() { return maxY; }
+        public int getMaxZ() { return maxZ; }
+    }
+}
@@ -0,0 +1,22 @@
+package com.haas.easyhunger.events;
+
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.haas.easyhunger.ui.EasyHungerHud;
+import com.haas.easyhunger.ui.EasyWaterHud;
+import com.haas.easyhunger.utils.HungerProtectionUtils;
+
+import java.util.UUID;
+
+public class EasyHungerPlayerDisconnect {
+    public static void handle(PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null) return;
+        UUID playerUuid = playerRef.getUuid();
+
+        // Per-player state is removed explicitly, nothing relies on weak references
+        EasyHungerHud.removePlayer(playerUuid);
+        EasyWaterHud.removePlayer(playerUuid);
+        HungerProtectionUtils.removePlayer(playerUuid);
+    }
+}
@@ -30,14 +30,19 @@ public class EasyHungerPlayerReady {
 
             EasyHungerHud hud = new EasyHungerHud(playerRef, player.getGameMode(), hungerLevel);
             HudManager.get().setCustomHud(player, playerRef, EasyHungerHud.hudIdentifier, hud);
+            hud.register(world.getName());
 
             // Initialize Thirst (only if enabled)
-            if (com.haas.easyhunger.EasyHunger.get().getConfig().isThirstEnabled()) {
+            if (com.haas.easyhunger.EasyHunger.get().getSettings().isThirstEnabled()) {
                 com.haas.easyhunger.components.ThirstComponent thirstComponent = store.ensureAndGetComponent(ref, com.haas.easyhunger.components.ThirstComponent.getComponentType());
                 float thirstLevel = thirstComponent.getThirstLevel();
                 
                 com.haas.easyhunger.ui.EasyWaterHud waterHud = new com.haas.easyhunger.ui.EasyWaterHud(playerRef, player.getGameMode(), thirstLevel);
                 HudManager.get().setCustomHud(player, playerRef, com.haas.easyhunger.ui.EasyWaterHud.hudIdentifier, waterHud);
+                waterHud.register(world.getName());
+            } else {
+                // Drop a water HUD left over from a previous world
+                com.haas.easyhunger.ui.EasyWaterHud.removePlayer(playerRef.getUuid());
             }
         });
     }
@@ -14,6 +14,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.haas.easyhunger.EasyHungerUtils;
 import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.MetabolismPaused;
 import com.haas.easyhunger.ui.EasyHungerHud;
 import com.haas.easyhunger.ui.EasyWaterHud;
 
@@ -46,18 +47,36 @@ public class GameModeChangeListener implements PacketWatcher {
             GameMode gameMode = player.getGameMode();
             EasyHungerHud.updatePlayerGameMode(playerRef, gameMode);
             EasyWaterHud.updatePlayerGameMode(playerRef, gameMode); // Update Thirst GUI too
+            updatePausedMarker(ref, store, gameMode == GameMode.Creative);
             if (gameMode == GameMode.Creative) {
                 EasyHungerUtils.removeHungerRelatedEffectsFromEntity(ref, store);
-                EasyHungerUtils.setPlayerHungerLevel(ref, store, com.haas.easyhunger.EasyHunger.get().getConfig().getMaxHunger());
+                EasyHungerUtils.setPlayerHungerLevel(ref, store, com.haas.easyhunger.EasyHunger.get().getSettings().getMaxHunger());
                 
                 // Auto-Fill Thirst
                 com.haas.easyhunger.components.ThirstComponent thirst = store.getComponent(ref, com.haas.easyhunger.components.ThirstComponent.getComponentType());
                 if (thirst != null) {
-                   float max = com.haas.easyhunger.EasyHunger.get().getConfig().getMaxThirst();
+                   float max = com.haas.easyhunger.EasyHunger.get().getSettings().getMaxThirst();
                    thirst.setThirstLevel(max);
                    EasyWaterHud.updatePlayerThirstLevel(playerRef, max);
                 }
             }
         });
     }
+
+    /**
+     * Sets or clears the creative pause reason right away instead of waiting for MetabolismPauseSystem.
+     */
+    private static void updatePausedMarker(Ref<EntityStore> ref, Store<EntityStore> store, boolean creative) {
+        if (creative) {
+            store.ensureAndGetComponent(ref, MetabolismPaused.getComponentType()).setReason(MetabolismPaused.REASON_CREATIVE, true);
+            return;
+        }
+
+        MetabolismPaused paused = store.getComponent(ref, MetabolismPaused.getComponentType());
+        if (paused == null) return;
+        paused.setReason(MetabolismPaused.REASON_CREATIVE, false);
+        if (paused.getReasons() == 0) {
+            store.removeComponent(ref, MetabolismPaused.getComponentType());
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.haas.easyhunger.interactions;
 
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.ItemValueTables;
 import com.haas.easyhunger.components.HungerComponent;
 import com.haas.easyhunger.ui.EasyHungerHud;
 
@@ -60,14 +61,13 @@ public class ConsumeFoodInteraction extends SimpleInstantInteraction {
             HungerComponent hunger = store.getComponent(entityRef, HungerComponent.getComponentType());
             
             if (hunger != null) {
-                float max = EasyHunger.get().getConfig().getMaxHunger();
+                float max = EasyHunger.get().getSettings().getMaxHunger();
                 if (hunger.getHungerLevel() < max) {
                     // Get item ID using getOriginalItemType() - always available even for last item in stack
                     com.hypixel.hytale.server.core.asset.type.item.config.Item item = context.getOriginalItemType();
-                    String itemId = (item != null) ? item.getId() : "unknown";
                     
                     // Check config for this item's value - only restore if configured
-                    float restoreAmount = EasyHunger.get().getFoodsConfig().getFoodValue(itemId);
+                    float restoreAmount = ItemValueTables.getFoodValue(item);
                     if (restoreAmount <= 0) {
                         // Item not in FoodsConfig - don't restore hunger (might be a drink like Food_Drink_*)
                         context.getState().state = InteractionState.Finished;
@@ -1,8 +1,10 @@
 package com.haas.easyhunger.interactions;
 
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.ItemValueTables;
 import com.haas.easyhunger.components.ThirstComponent;
 import com.haas.easyhunger.ui.EasyWaterHud;
+import com.haas.easyhunger.utils.ItemIdNormalizer;
 
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -61,39 +63,26 @@ public class DrinkWaterInteraction extends SimpleInstantInteraction {
             ThirstComponent thirst = store.getComponent(entityRef, ThirstComponent.getComponentType());
             
             if (thirst != null) {
-                float max = EasyHunger.get().getConfig().getMaxThirst();
+                float max = EasyHunger.get().getSettings().getMaxThirst();
                 if (thirst.getThirstLevel() < max) {
                     // Default fallback if item not in config
                     float restoreAmount = 15.0f;
                     
                     // Get item ID using getOriginalItemType() - always available even for last item in stack
                     com.hypixel.hytale.server.core.asset.type.item.config.Item item = context.getOriginalItemType();
-                    String itemId = (item != null) ? item.getId() : null;
-                    
-                    // Fallback to getHeldItem if original is null
-                    if (itemId == null && context.getHeldItem() != null) {
-                        itemId = context.getHeldItem().getItemId();
+                    float configValue = 0.0f;
+                    if (item != null) {
+                        configValue = ItemValueTables.getDrinkValue(item);
+                    } else if (context.getHeldItem() != null) {
+                        // Fallback to getHeldItem if original is null, state variants resolve to the base item
+                        configValue = ItemValueTables.getDrinkValue(ItemIdNormalizer.normalize(context.getHeldItem()));
                     }
-                    
-                    // Clean up item ID
-                    if (itemId != null) {
-                        // Remove leading asterisk if present (Hytale adds this for state variants)
-                        if (itemId.startsWith("*")) {
-                            itemId = itemId.substring(1);
-                        }
-                        // Remove state suffix (e.g., ":Filled_Water")
-                        if (itemId.contains(":")) {
-                            itemId = itemId.substring(0, itemId.indexOf(":"));
-                        }
-                        
-                        Float configValue = EasyHunger.get().getDrinksConfig().getDrinkValue(itemId);
-                        if (configValue > 0) {
-                            restoreAmount = configValue;
-                        }
+                    if (configValue > 0) {
+                        restoreAmount = configValue;
                     }
                     
                     
-                    thirst.drink(restoreAmount);
+                    thirst.drink(restoreAmount, max);
                     
                     // Update HUD and clear preview
                     EasyWaterHud.updatePlayerThirstLevel(playerRef, thirst.getThirstLevel());
@@ -1,7 +1,9 @@
 package com.haas.easyhunger.interactions;
 
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.ItemValueTables;
 import com.haas.easyhunger.ui.EasyWaterHud;
+import com.haas.easyhunger.utils.ItemIdNormalizer;
 
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -59,23 +61,14 @@ public class StartDrinkingInteraction extends SimpleInstantInteraction {
             
             // Try to get item ID from held item
             if (context.getHeldItem() != null) {
-                String itemId = context.getHeldItem().getItemId();
-                // Remove leading asterisk if present (Hytale adds this for state variants)
-                if (itemId != null && itemId.startsWith("*")) {
-                    itemId = itemId.substring(1);
-                }
-                // Remove state suffix (e.g., ":Filled_Water")
-                if (itemId != null && itemId.contains(":")) {
-                    itemId = itemId.substring(0, itemId.indexOf(":"));
-                }
-                Float configValue = EasyHunger.get().getDrinksConfig().getDrinkValue(itemId);
+                // State variants ("*Id:Filled_Water") resolve to the base item
+                float configValue = ItemValueTables.getDrinkValue(ItemIdNormalizer.normalize(context.getHeldItem()));
                 if (configValue > 0) {
                     restoreAmount = configValue;
                 }
             } else if (context.getOriginalItemType() != null) {
                 // Fallback to original item type
-                String itemId = context.getOriginalItemType().getId();
-                Float configValue = EasyHunger.get().getDrinksConfig().getDrinkValue(itemId);
+                float configValue = ItemValueTables.getDrinkValue(context.getOriginalItemType());
                 if (configValue > 0) {
                     restoreAmount = configValue;
                 }
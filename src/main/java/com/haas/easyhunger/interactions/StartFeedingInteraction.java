@@ -1,6 +1,7 @@
 package com.haas.easyhunger.interactions;
 
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.ItemValueTables;
 import com.haas.easyhunger.ui.EasyHungerHud;
 
 import com.hypixel.hytale.codec.Codec;
@@ -56,8 +57,7 @@ public class StartFeedingInteraction extends SimpleInstantInteraction {
             if (playerRef == null || item == null) return;
             
             // Get hunger restoration value from config or JSON
-            String itemId = item.getId();
-            float restoreAmount = EasyHunger.get().getFoodsConfig().getFoodValue(itemId);
+            float restoreAmount = ItemValueTables.getFoodValue(item);
             if (restoreAmount <= 0) {
                 restoreAmount = this.hungerRestoreAmount;
             }
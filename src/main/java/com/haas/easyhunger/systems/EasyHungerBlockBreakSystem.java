@@ -3,6 +3,7 @@ package com.haas.easyhunger.systems;
 import com.haas.easyhunger.EasyHunger;
 import com.haas.easyhunger.EasyHungerUtils;
 import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.MetabolismPaused;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
@@ -13,7 +14,6 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.haas.easyhunger.utils.HungerProtectionUtils;
 
 import javax.annotation.Nonnull;
 
@@ -25,7 +25,12 @@ public class EasyHungerBlockBreakSystem extends EntityEventSystem<EntityStore, B
 
     @Override
     public Query<EntityStore> getQuery() {
-        return Query.and(Player.getComponentType());
+        // Creative and safe zone players carry MetabolismPaused
+        return Query.and(
+            Player.getComponentType(),
+            HungerComponent.getComponentType(),
+            Query.not(MetabolismPaused.getComponentType())
+        );
     }
 
     @Override
@@ -37,15 +42,9 @@ public class EasyHungerBlockBreakSystem extends EntityEventSystem<EntityStore, B
         HungerComponent hunger = chunk.getComponent(index, HungerComponent.getComponentType());
         if (hunger == null) return;
 
-        // Skip hunger drain in Creative mode
-        Player player = chunk.getComponent(index, Player.getComponentType());
-        if (player != null && player.getGameMode() == com.hypixel.hytale.protocol.GameMode.Creative) return;
-
-        // Skip hunger drain in safe zones
         PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-        if (playerRef != null && HungerProtectionUtils.isSafe(playerRef)) return;
 
-        float blockBreakCost = EasyHunger.get().getConfig().getBlockBreakHungerCost();
+        float blockBreakCost = EasyHunger.get().getSettings().getBlockBreakHungerCost();
         if (blockBreakCost <= 0) return;
 
         float currentHunger = hunger.getHungerLevel();
@@ -82,7 +82,7 @@ public class EasyHungerFoodHandler {
             }
 
             if (isFood) {
-                float hungerRestore = EasyHunger.get().getFoodsConfig().getFoodValue(itemId);
+                float hungerRestore = EasyHunger.get().getSettings().getFoodValue(itemId);
                 
                 if (hungerRestore > 0) {
                      try {
@@ -104,7 +104,7 @@ public class EasyHungerFoodHandler {
 
                         if (hunger != null) {
                             float current = hunger.getHungerLevel();
-                            float maxHunger = EasyHunger.get().getConfig().getMaxHunger();
+                            float maxHunger = EasyHunger.get().getSettings().getMaxHunger();
                             
                             if (current < maxHunger) { 
                                hunger.feed(hungerRestore);
@@ -1,8 +1,9 @@
 package com.haas.easyhunger.systems;
 
 import com.haas.easyhunger.EasyHunger;
-import com.haas.easyhunger.EasyHungerUtils;
 import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.MetabolismPaused;
+import com.haas.easyhunger.ui.EasyHungerHud;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Store;
@@ -11,32 +12,34 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.protocol.MovementStates;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.movement.MovementStatesComponent;
+import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.haas.easyhunger.utils.HungerProtectionUtils;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * System that decreases hunger when a player jumps.
- * Uses a cooldown to prevent draining hunger every tick while int the air.
+ * Only the tick a jump starts is charged, with a short cooldown so bunny hopping is not charged every hop.
  */
 public class EasyHungerJumpSystem extends EntityTickingSystem<EntityStore> {
 
-    // Track when players last jumped (to prevent draining every tick while in air)
-    private final java.util.Map<UUID, Long> lastJumpTime = new ConcurrentHashMap<>();
-    
-    // Minimum time between jump hunger costs (in milliseconds)
-    private static final long JUMP_COOLDOWN_MS = 500; // 0.5 seconds
+    // Minimum time between jump hunger costs, in seconds
+    private static final float JUMP_COOLDOWN = 0.5f;
 
     public EasyHungerJumpSystem() {
     }
 
     @Override
     public Query<EntityStore> getQuery() {
-        return Query.and(Player.getComponentType(), MovementStatesComponent.getComponentType());
+        // Only entities that can actually be charged; creative and safe zone players carry MetabolismPaused
+        return Query.and(
+            HungerComponent.getComponentType(),
+            MovementStatesComponent.getComponentType(),
+            Player.getComponentType(),
+            PlayerRef.getComponentType(),
+            Query.not(DeathComponent.getComponentType()),
+            Query.not(MetabolismPaused.getComponentType())
+        );
     }
 
     @Override
@@ -47,47 +50,25 @@ public class EasyHungerJumpSystem extends EntityTickingSystem<EntityStore> {
             @NonNullDecl Store<EntityStore> store,
             @NonNullDecl CommandBuffer<EntityStore> commandBuffer
     ) {
+        HungerComponent hunger = chunk.getComponent(index, HungerComponent.getComponentType());
         MovementStatesComponent movementComp = chunk.getComponent(index, MovementStatesComponent.getComponentType());
-        if (movementComp == null) return;
+        if (hunger == null || movementComp == null) return;
 
         MovementStates states = movementComp.getMovementStates();
-        if (states == null) return;
-
         // Check if jumping (but not swimming or flying)
-        if (states.jumping && !states.swimming && !states.flying) {
-            PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (playerRef == null) return;
-            
-            // Skip hunger drain in Creative mode
-            Player player = chunk.getComponent(index, Player.getComponentType());
-            if (player != null && player.getGameMode() == com.hypixel.hytale.protocol.GameMode.Creative) return;
-            
-            // Skip hunger drain in safe zones
-            if (HungerProtectionUtils.isSafe(playerRef)) return;
-            
-            UUID uuid = playerRef.getUuid();
-            if (uuid == null) return;
+        boolean jumping = states != null && states.jumping && !states.swimming && !states.flying;
+
+        // Edge triggered: nothing else is looked up unless a jump starts this tick
+        if (!hunger.onJumpState(jumping, dt)) return;
 
-            long currentTime = System.currentTimeMillis();
-            Long lastJump = lastJumpTime.get(uuid);
+        float jumpCost = EasyHunger.get().getSettings().getJumpHungerCost();
+        if (jumpCost <= 0) return;
 
-            // Only drain hunger if enough time has passed since last jump
-            if (lastJump == null || (currentTime - lastJump) >= JUMP_COOLDOWN_MS) {
-                float jumpCost = EasyHunger.get().getConfig().getJumpHungerCost();
-                if (jumpCost <= 0) return;
+        hunger.starve(jumpCost);
+        hunger.startJumpCooldown(JUMP_COOLDOWN);
 
-                HungerComponent hunger = chunk.getComponent(index, HungerComponent.getComponentType());
-                if (hunger != null) {
-                   float currentHunger = hunger.getHungerLevel();
-                   float newHunger = Math.max(0, currentHunger - jumpCost);
-                   hunger.setHungerLevel(newHunger);
-                   
-                   // Update HUD
-                   EasyHungerUtils.setPlayerHungerLevel(chunk.getReferenceTo(index), commandBuffer, newHunger);
-                   
-                   lastJumpTime.put(uuid, currentTime);
-                }
-            }
-        }
+        // Update HUD
+        PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef != null) EasyHungerHud.updatePlayerHungerLevel(playerRef, hunger.getHungerLevel());
     }
 }
@@ -1,209 +1,86 @@
 package com.haas.easyhunger.systems;
 
 import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.ItemValueTables;
 import com.haas.easyhunger.components.ThirstComponent;
 import com.haas.easyhunger.ui.EasyWaterHud;
-import com.hypixel.hytale.component.ComponentAccessor;
+import com.haas.easyhunger.utils.ConsumptionDetector;
+import com.haas.easyhunger.utils.ItemIdNormalizer;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.entity.LivingEntityInventoryChangeEvent;
-import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class EasyThirstHandler {
 
-    private static final Set<String> THIRST_KEYWORDS = new HashSet<>(Arrays.asList(
-        "water", "drink", "potion", "bottle", "tea", "coffee", "juice", "mug", "milk", "ale", "beer", "wine"
-    ));
+    private final ComponentType<EntityStore, ThirstComponent> thirstComponentType;
 
-    private static final Pattern ITEM_ID_PATTERN = Pattern.compile("itemId=([^,}]+)");
-    
-    private final com.hypixel.hytale.component.ComponentType<com.hypixel.hytale.server.core.universe.world.storage.EntityStore, com.haas.easyhunger.components.ThirstComponent> thirstComponentType;
-
-    public EasyThirstHandler(com.hypixel.hytale.component.ComponentType<com.hypixel.hytale.server.core.universe.world.storage.EntityStore, com.haas.easyhunger.components.ThirstComponent> thirstComponentType) {
+    public EasyThirstHandler(ComponentType<EntityStore, ThirstComponent> thirstComponentType) {
         this.thirstComponentType = thirstComponentType;
     }
 
-    @SuppressWarnings("unchecked")
     public void handleInventoryChange(LivingEntityInventoryChangeEvent event) {
         if (this.thirstComponentType == null) {
              return;
         }
         // Skip if thirst system is disabled
-        if (!EasyHunger.get().getConfig().isThirstEnabled()) return;
+        if (!EasyHunger.get().getSettings().isThirstEnabled()) return;
         
         try {
             Object entity = event.getEntity();
             if (!(entity instanceof Player)) return;
             Player player = (Player) entity;
 
-            Transaction transaction = event.getTransaction();
-            if (transaction == null) return;
-
-            String transactionInfo = transaction.toString();
-            String lowerInfo = transactionInfo.toLowerCase();
-            
-            // Filter Move/Drops
-            if (transactionInfo.contains("MoveTransaction")) return; 
-            
-            // Removed keyword check - rely on config prefix matching only
-            
-            if (transactionInfo.contains("query=null")) return;
+            // Typed check on the transaction, moves and non-consuming transactions are rejected here
+            ItemStack consumed = ConsumptionDetector.findConsumedStack(event.getTransaction());
+            if (consumed == null) return;
 
-            // Check Last Item Consumption
-            if (matchesLastItemConsumption(transaction)) {
-                String itemId = extractItemIdFromTransaction(transaction);
-                
-                // Remove leading asterisk if present (Hytale adds this for state variants)
-                if (itemId != null && itemId.startsWith("*")) {
-                    itemId = itemId.substring(1);
-                }
-                
-                // Lookup drink value from config - only restore if configured
-                Float drinkValue = EasyHunger.get().getDrinksConfig().getDrinkValue(itemId);
-                
-                // Skip EasyHunger items - they use EasyHunger_DrinkWater interaction which already handles thirst
-                if (itemId != null && itemId.startsWith("EasyHunger_")) {
-                    return;
-                }
-                
-                // Skip items that use Root_Secondary_Consume_Potion - Consume_Charge_Potion_Fast now handles them
-                // Only skip specific mod prefixes that use the potion consumption chain
-                if (itemId != null && (
-                    itemId.startsWith("NoCube_Drink") || 
-                    itemId.startsWith("Brewery_") || 
-                    itemId.startsWith("NoCube_Template_Juice")
-                )) {
-                    return;
-                }
-                
-                // Apply thirst restoration if configured in config
-                if (drinkValue != null && drinkValue > 0) {
-                    
-                    // Get player's thirst component and restore thirst (same pattern as FoodHandler)
-                    try {
-                        var store = player.getReference().getStore();
-                        
-                        ComponentAccessor accessor = null;
-                        if (store instanceof ComponentAccessor) {
-                            accessor = (ComponentAccessor) store;
-                        } else {
-                            accessor = (ComponentAccessor) (Object) store;
-                        }
+            // Base id without the state variant asterisk / suffix, memoized per raw id
+            ItemIdNormalizer.NormalizedId normalized = ItemIdNormalizer.normalize(consumed);
+            if (normalized == null) return;
+            String itemId = normalized.getBaseId();
 
-                        ThirstComponent thirst = (ThirstComponent) accessor.getComponent(
-                            (Ref) player.getReference(), 
-                            (ComponentType) (Object) this.thirstComponentType
-                        );
+            // Skip EasyHunger items - they use EasyHunger_DrinkWater interaction which already handles thirst
+            if (itemId.startsWith("EasyHunger_")) {
+                return;
+            }
 
-                        if (thirst != null) {
-                            float max = EasyHunger.get().getConfig().getMaxThirst();
-                            if (thirst.getThirstLevel() < max) {
-                                thirst.drink(drinkValue);
-                                
-                                // Update HUD
-                                try {
-                                    if (accessor != null) {
-                                        PlayerRef playerRef = (PlayerRef) accessor.getComponent(
-                                            (Ref) player.getReference(), 
-                                            (ComponentType) (Object) PlayerRef.getComponentType()
-                                        );
-                                        
-                                        if (playerRef != null) {
-                                            EasyWaterHud.updatePlayerThirstLevel(playerRef, thirst.getThirstLevel());
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    // HUD update failed, ignore
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        EasyHunger.logInfo("[ThirstHandler] Error applying thirst: " + e.toString());
-                    }
-                }
+            // Skip items that use Root_Secondary_Consume_Potion - Consume_Charge_Potion_Fast now handles them
+            // Only skip specific mod prefixes that use the potion consumption chain
+            if (itemId.startsWith("NoCube_Drink") ||
+                itemId.startsWith("Brewery_") ||
+                itemId.startsWith("NoCube_Template_Juice")) {
+                return;
             }
 
-        } catch (Throwable e) {
-            EasyHunger.get().getLogger().at(Level.SEVERE).log("Error in EasyThirstHandler: " + e.getMessage());
-        }
-    }
+            // Lookup drink value from config - only restore if configured
+            float drinkValue = ItemValueTables.getDrinkValue(normalized);
+            if (drinkValue <= 0) return;
 
-    private boolean matchesLastItemConsumption(Transaction transaction) {
-        // Same logic as FoodHandler
-        // Case 1: Single Slot
-        if (transaction instanceof com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction) {
-             com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction slotTrans = 
-                 (com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction) transaction;
-             
-             com.hypixel.hytale.server.core.inventory.ItemStack before = slotTrans.getSlotBefore();
-             com.hypixel.hytale.server.core.inventory.ItemStack after = slotTrans.getSlotAfter();
+            Ref<EntityStore> ref = player.getReference();
+            if (ref == null) return;
+            Store<EntityStore> store = ref.getStore();
 
-             if (before != null && before.getQuantity() >= 1) {
-                // Detect quantity reduction (consumption)
-                int afterQty = (after != null) ? after.getQuantity() : 0;
-                if (afterQty < before.getQuantity()) return true;
-                
-                // Detect item transformation (e.g., milk bucket -> empty bucket)
-                if (after != null && afterQty == before.getQuantity()) {
-                    String beforeId = before.getItemId();
-                    String afterId = after.getItemId();
-                    if (beforeId != null && afterId != null && !beforeId.equals(afterId)) {
-                        return true; // Item ID changed = consumption/transformation
-                    }
-                }
-             }
-             return false;
-        }
+            ThirstComponent thirst = store.getComponent(ref, this.thirstComponentType);
+            if (thirst == null) return;
 
-        // Case 2: Multi-Slot
-        if (transaction instanceof com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction) {
-            com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction stackTransaction = 
-                (com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction) transaction;
-    
-            for (Object slotTransObj : stackTransaction.getSlotTransactions()) {
-                if (slotTransObj instanceof com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction) {
-                     com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction slotTrans = 
-                         (com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction) slotTransObj;
-                     com.hypixel.hytale.server.core.inventory.ItemStack before = slotTrans.getSlotBefore();
-                     com.hypixel.hytale.server.core.inventory.ItemStack after = slotTrans.getSlotAfter();
-        
-                    if (before != null && before.getQuantity() >= 1) {
-                        int afterQty = (after != null) ? after.getQuantity() : 0;
-                        if (afterQty < before.getQuantity()) return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private String extractItemIdFromTransaction(Transaction transaction) {
-        String info = transaction.toString();
-        Matcher matcher = ITEM_ID_PATTERN.matcher(info);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        return "unknown";
-    }
+            float max = EasyHunger.get().getSettings().getMaxThirst();
+            if (thirst.getThirstLevel() >= max) return;
+            thirst.drink(drinkValue, max);
 
-    private boolean containsThirstKeyword(String text) {
-        if (text == null) return false;
-        String lower = text.toLowerCase();
-        for (String keyword : THIRST_KEYWORDS) {
-            if (lower.contains(keyword)) {
-                return true;
+            // Update HUD
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef != null) {
+                EasyWaterHud.updatePlayerThirstLevel(playerRef, thirst.getThirstLevel());
             }
+        } catch (Throwable e) {
+            EasyHunger.get().getLogger().at(Level.SEVERE).log("Error in EasyThirstHandler: " + e.getMessage());
         }
-        return false;
     }
 }
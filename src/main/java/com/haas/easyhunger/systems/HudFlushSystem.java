@@ -0,0 +1,38 @@
+package com.haas.easyhunger.systems;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.dependency.Dependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.haas.easyhunger.ui.HudOutbox;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+/**
+ * Sends the HUD changes buffered in HudOutbox for the ticked world, one merged update per HUD.
+ * Runs after the metabolism and jump systems so their changes go out in the same tick. Anything
+ * recorded outside the tick order (block break events, interactions, packet watchers) goes out
+ * with the next flush.
+ */
+public class HudFlushSystem extends TickingSystem<EntityStore> {
+
+    private final Set<Dependency<EntityStore>> dependencies = Set.of(
+        new SystemDependency<>(Order.AFTER, MetabolismSystem.class),
+        new SystemDependency<>(Order.AFTER, EasyHungerJumpSystem.class)
+    );
+
+    @Nonnull
+    @Override
+    public Set<Dependency<EntityStore>> getDependencies() {
+        return this.dependencies;
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, @NonNullDecl Store<EntityStore> store) {
+        HudOutbox.flush(store.getExternalData().getWorld().getName());
+    }
+}
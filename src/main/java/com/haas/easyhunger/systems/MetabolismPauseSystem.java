@@ -0,0 +1,104 @@
+package com.haas.easyhunger.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.MetabolismPaused;
+import com.haas.easyhunger.components.ThirstComponent;
+import com.haas.easyhunger.utils.HungerProtectionUtils;
+import com.haas.easyhunger.utils.SleepUtils;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Low frequency classifier that adds or removes the MetabolismPaused marker.
+ * Creative, safe zone and sleep checks run here once per CLASSIFY_INTERVAL per player
+ * instead of in every hunger system on every tick.
+ * Creative is also applied immediately by GameModeChangeListener.
+ */
+public class MetabolismPauseSystem extends EntityTickingSystem<EntityStore> {
+
+    private static final float CLASSIFY_INTERVAL = 1.0f;
+
+    // Scheduler of the world being ticked, see MetabolismSystem
+    private final ThreadLocal<MetabolismScheduler> currentScheduler = new ThreadLocal<>();
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.and(
+            HungerComponent.getComponentType(),
+            Player.getComponentType(),
+            PlayerRef.getComponentType(),
+            Query.not(DeathComponent.getComponentType())
+        );
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, @NonNullDecl Store<EntityStore> store) {
+        // Clock advanced by MetabolismSystem, only read here
+        this.currentScheduler.set(MetabolismScheduler.forWorld(store.getExternalData().getWorld().getName()));
+        try {
+            super.tick(dt, systemIndex, store);
+        } finally {
+            this.currentScheduler.remove();
+        }
+    }
+
+    @Override
+    public void tick(
+        float dt,
+        int index,
+        @NonNullDecl ArchetypeChunk<EntityStore> chunk,
+        @NonNullDecl Store<EntityStore> store,
+        @NonNullDecl CommandBuffer<EntityStore> commandBuffer
+    ) {
+        MetabolismScheduler scheduler = this.currentScheduler.get();
+        HungerComponent hunger = chunk.getComponent(index, HungerComponent.getComponentType());
+        if (scheduler == null || hunger == null || !hunger.isPauseClassifyDue(scheduler, CLASSIFY_INTERVAL)) return;
+
+        int reasons = 0;
+
+        Player player = chunk.getComponent(index, Player.getComponentType());
+        if (player != null && player.getGameMode() == GameMode.Creative) {
+            reasons |= MetabolismPaused.REASON_CREATIVE;
+        }
+
+        PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef != null && HungerProtectionUtils.isSafe(playerRef)) {
+            reasons |= MetabolismPaused.REASON_SAFE_ZONE;
+        }
+
+        if (EasyHunger.get().getSettings().isPauseWhileSleeping() && SleepUtils.isSleeping(index, chunk)) {
+            reasons |= MetabolismPaused.REASON_SLEEPING;
+        }
+
+        MetabolismPaused paused = chunk.getComponent(index, MetabolismPaused.getComponentType());
+        if (paused != null) {
+            if (reasons == 0) {
+                commandBuffer.removeComponent(chunk.getReferenceTo(index), MetabolismPaused.getComponentType());
+            } else {
+                paused.setReasons(reasons);
+            }
+        } else if (reasons != 0) {
+            // Lazy levels would keep decaying while paused, freeze them at the current value
+            hunger.materialize();
+            ThirstComponent thirst = chunk.getComponent(index, ThirstComponent.getComponentType());
+            if (thirst != null) thirst.materialize();
+
+            Ref<EntityStore> ref = chunk.getReferenceTo(index);
+            commandBuffer.addComponent(ref, MetabolismPaused.getComponentType(), new MetabolismPaused(reasons));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.haas.easyhunger.systems;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-world metabolism scheduler. Every entity keeps a Deadline per periodic step, first scheduled
+ * at a random phase within the period, so players who joined together do not all step on the same tick.
+ * The per-entity cost on a tick where nothing is due is a single compare against the world time.
+ *
+ * Every world samples the same monotonic clock (seconds since the plugin loaded) at the start of
+ * its tick, so deadlines and lazy decay stay valid when a player moves to another world, and
+ * nothing keeps a removed world's scheduler alive.
+ *
+ * Only touched from the owning world's thread; the stats getters may be read from anywhere.
+ */
+public final class MetabolismScheduler {
+
+    private static final Map<String, MetabolismScheduler> worlds = new ConcurrentHashMap<>();
+
+    private static final long EPOCH_NANOS = System.nanoTime();
+
+    private double now = clock();
+    private long tick = 0;
+
+    // Work counts, a step is one entity doing real work on a tick
+    private int currentTickWork = 0;
+    private volatile int lastTickWork = 0;
+    private volatile int peakTickWork = 0;
+    private volatile long totalWork = 0;
+
+    private MetabolismScheduler() {
+    }
+
+    public static MetabolismScheduler forWorld(String worldName) {
+        return worlds.computeIfAbsent(worldName, k -> new MetabolismScheduler());
+    }
+
+    public static void removeWorld(String worldName) {
+        worlds.remove(worldName);
+    }
+
+    /**
+     * Read-only view of every world's scheduler, for stats.
+     */
+    public static Map<String, MetabolismScheduler> getWorlds() {
+        return Collections.unmodifiableMap(worlds);
+    }
+
+    /**
+     * Shared clock in seconds, the same for every world. Safe to read from any thread.
+     */
+    public static double clock() {
+        return (System.nanoTime() - EPOCH_NANOS) * 1.0e-9;
+    }
+
+    /**
+     * Called once per world tick before any entity is processed.
+     */
+    void beginTick() {
+        this.now = clock();
+        this.tick++;
+        this.currentTickWork = 0;
+    }
+
+    /**
+     * Called once per world tick after every entity was processed.
+     */
+    void endTick() {
+        this.lastTickWork = this.currentTickWork;
+        if (this.currentTickWork > this.peakTickWork) this.peakTickWork = this.currentTickWork;
+        this.totalWork += this.currentTickWork;
+    }
+
+    /**
+     * Count one entity doing real work this tick.
+     */
+    void recordWork() {
+        this.currentTickWork++;
+    }
+
+    /** clock() as sampled at the start of this world's current tick. Owning world thread only, other threads use clock(). */
+    public double getTime() { return now; }
+    public long getTick() { return tick; }
+
+    /** Entities that did real work on the last completed tick. */
+    public int getLastTickWork() { return lastTickWork; }
+    /** Highest per-tick work count seen. */
+    public int getPeakTickWork() { return peakTickWork; }
+    public long getTotalWork() { return totalWork; }
+    /** Average entities stepped per tick since the world started. */
+    public double getAverageTickWork() { return tick > 0 ? (double) totalWork / tick : 0.0; }
+
+    /**
+     * Next time a periodic step is due, in MetabolismScheduler time. Unscheduled until first polled.
+     */
+    public static final class Deadline {
+        private double dueAt = Double.NaN;
+
+        /**
+         * Whether the step is due now. Schedules the next one when it is.
+         * The first poll only picks a random phase within the period and is never due.
+         */
+        public boolean poll(MetabolismScheduler scheduler, float period) {
+            double now = scheduler.now;
+            if (Double.isNaN(dueAt)) {
+                dueAt = now + ThreadLocalRandom.current().nextDouble() * period;
+                return false;
+            }
+            if (now < dueAt) return false;
+
+            // Keep the phase, unless the entity fell more than a period behind (paused, unloaded)
+            double next = dueAt + period;
+            dueAt = next > now ? next : now + period;
+            return true;
+        }
+
+        /**
+         * Take over another deadline's schedule (component copies).
+         */
+        public void copyFrom(Deadline other) {
+            dueAt = other.dueAt;
+        }
+
+        /**
+         * Next step one full period from now.
+         */
+        public void restart(MetabolismScheduler scheduler, float period) {
+            dueAt = scheduler.now + period;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.haas.easyhunger.systems;
+
+import com.hypixel.hytale.component.*;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.protocol.MovementStates;
+import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
+import com.hypixel.hytale.server.core.entity.effect.ActiveEntityEffect;
+import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.movement.MovementStatesComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.Invulnerable;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.damage.*;
+import com.hypixel.hytale.server.core.modules.entitystats.EntityStatMap;
+import com.hypixel.hytale.server.core.modules.entitystats.EntityStatValue;
+import com.hypixel.hytale.server.core.modules.entitystats.asset.DefaultEntityStatTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.haas.easyhunger.EasyHunger;
+import com.haas.easyhunger.EasyHungerUtils;
+import com.haas.easyhunger.EffectIndexRegistry;
+import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.MetabolismPaused;
+import com.haas.easyhunger.components.ThirstComponent;
+import com.haas.easyhunger.config.BiomeModifierResolver;
+import com.haas.easyhunger.config.MetabolismSettings;
+import com.haas.easyhunger.ui.EasyHungerHud;
+import com.haas.easyhunger.ui.EasyWaterHud;
+import com.haas.easyhunger.utils.BiomeUtils;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Single per-entity pass that drives hunger, thirst and the well fed buffs.
+ * Replaces the old StarveSystem, EasyThirstSystem and WellFedSystem, which each walked
+ * the same player archetypes and repeated the safe zone, sleep, biome and effect lookups.
+ * Those lookups now happen at most once per entity per tick, and only when a step is due.
+ * Creative, safe zone and sleeping players carry MetabolismPaused: their hunger and thirst do not
+ * decay, but the well fed buffs and the effect reconcile keep running for them, as they did when
+ * WellFedSystem was a separate system.
+ *
+ * Steps are scheduled per entity by the world's MetabolismScheduler with a random phase,
+ * so the work is spread over the period instead of landing on the same tick for everyone.
+ *
+ * With LazyMetabolism enabled, a player who is idle (full stamina, not sprinting, no damage) stops
+ * stepping: the components decay in closed form and are woken up when a threshold, a HUD pixel step
+ * or LAZY_MAX_INTERVAL is reached, as soon as the player is no longer idle, or when anything else
+ * writes either level (eating, drinking, a jump), which wakes both components together.
+ */
+public class MetabolismSystem extends EntityTickingSystem<EntityStore> {
+
+    // Well fed buffs are re-evaluated every second, independent of the starvation tick rate
+    private static final float WELL_FED_TICK_RATE = 1.0f;
+
+    // Applied effect bits are trusted in between; the real effect list is only read at this rate
+    private static final float EFFECT_RECONCILE_INTERVAL = 10.0f;
+
+    // Lazy mode: stamina at or above this counts as idle (no stamina modifier)
+    private static final float FULL_STAMINA = 10.0f;
+    // Lazy mode: longest time without a step, so biome changes are picked up
+    private static final float LAZY_MAX_INTERVAL = 15.0f;
+
+    // Lazy mode state of an entity at the start of its tick, see checkLazy
+    static final int ACTIVE = 0;
+    static final int LAZY = 1;
+    static final int WOKEN = 2;
+
+    private static final int HUNGER_STATE_EFFECTS = HungerComponent.EFFECT_HUNGRY | HungerComponent.EFFECT_STARVING;
+
+    // Scheduler of the world being ticked, set for the duration of the world-level tick (one thread per world)
+    private final ThreadLocal<MetabolismScheduler> currentScheduler = new ThreadLocal<>();
+
+    private MetabolismSystem() {
+        // Empty constructor - we grab the settings snapshot each tick
+    }
+
+    public static MetabolismSystem create() {
+        return new MetabolismSystem();
+    }
+
+    @Nullable
+    @Override
+    public SystemGroup<EntityStore> getGroup() {
+        return DamageModule.get().getGatherDamageGroup();
+    }
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        // ThirstComponent and MovementStatesComponent are optional and read per entity
+        return Query.and(
+            HungerComponent.getComponentType(),
+            EntityStatMap.getComponentType(),
+            Player.getComponentType(),
+            PlayerRef.getComponentType(),
+            Query.not(DeathComponent.getComponentType()),
+            Query.not(Invulnerable.getComponentType())
+        );
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, @NonNullDecl Store<EntityStore> store) {
+        MetabolismScheduler scheduler = MetabolismScheduler.forWorld(store.getExternalData().getWorld().getName());
+        scheduler.beginTick();
+        this.currentScheduler.set(scheduler);
+        try {
+            super.tick(dt, systemIndex, store);
+        } finally {
+            this.currentScheduler.remove();
+            scheduler.endTick();
+        }
+    }
+
+    @Override
+    public void tick(
+        float dt,
+        int index,
+        @NonNullDecl ArchetypeChunk<EntityStore> archetypeChunk,
+        @NonNullDecl Store<EntityStore> store,
+        @NonNullDecl CommandBuffer<EntityStore> commandBuffer
+    ) {
+        HungerComponent hunger = archetypeChunk.getComponent(index, HungerComponent.getComponentType());
+        EntityStatMap entityStatMap = archetypeChunk.getComponent(index, EntityStatMap.getComponentType());
+        if (hunger == null || entityStatMap == null) return;
+
+        MetabolismScheduler scheduler = this.currentScheduler.get();
+        if (scheduler == null) return;
+
+        MetabolismSettings settings = EasyHunger.get().getSettings();
+        ThirstComponent thirst = archetypeChunk.getComponent(index, ThirstComponent.getComponentType());
+
+        // Paused players skip the decay steps, stamina spent meanwhile is not charged afterwards
+        boolean paused = archetypeChunk.getComponent(index, MetabolismPaused.getComponentType()) != null;
+
+        float stamina = getStaminaValue(entityStatMap);
+        if (!paused) hunger.setStaminaSeen(stamina);
+
+        // === Lazy players: nothing to do until their wakeup ===
+        boolean lazyWakeup = false;
+        if (paused) {
+            // Normally already frozen by MetabolismPauseSystem
+            hunger.materialize();
+            if (thirst != null) thirst.materialize();
+        } else {
+            boolean idle = stamina >= FULL_STAMINA && !(thirst != null && thirst.isLazy() && isSprinting(index, archetypeChunk));
+            int lazyState = checkLazy(scheduler, hunger, thirst, idle, settings.getVersion(), settings.getStarvationTickRate());
+            if (lazyState == LAZY) return;
+            lazyWakeup = lazyState == WOKEN;
+        }
+
+        // === Check deadlines (cheap, every tick) ===
+        boolean stepDue = !paused && (lazyWakeup || hunger.isStepDue(scheduler, settings.getStarvationTickRate()));
+        boolean hungerDue = stepDue;
+        boolean thirstDue = stepDue && thirst != null && settings.isThirstEnabled();
+
+        boolean wellFedDue = thirst != null && settings.isWellFedEnabled()
+            && (hunger.isWellFedDue(scheduler, WELL_FED_TICK_RATE) || lazyWakeup);
+
+        boolean reconcileDue = hunger.isEffectReconcileDue(scheduler, EFFECT_RECONCILE_INTERVAL);
+
+        if (!hungerDue && !thirstDue && !wellFedDue && !reconcileDue) return;
+        scheduler.recordWork();
+
+        // === Shared lookups (once per entity per tick) ===
+        Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
+        PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+
+        if (reconcileDue) {
+            reconcileAppliedEffects(ref, commandBuffer, hunger, thirst);
+        }
+
+        // Wanted effect bits, compared against the applied ones at the end of the tick
+        int hungerEffects = hunger.getAppliedEffects();
+        int thirstEffects = thirst != null ? thirst.getAppliedEffects() : 0;
+
+        float hungerDamage = 0.0f;
+        float thirstDamage = 0.0f;
+        float lowestStaminaSeen = FULL_STAMINA;
+        boolean sprinting = false;
+        float[] biomeMultipliers = null;
+
+        if (hungerDue || thirstDue) {
+            // A lazy wakeup does not starve, so its low-water mark is kept for the next real step
+            lowestStaminaSeen = lazyWakeup ? hunger.getLowestStaminaSeen() : hunger.getAndResetLowestStaminaSeen();
+
+            // Biome is looked up once (cached per chunk) and shared by both hunger and thirst
+            String biomeName = null;
+            if (settings.isBiomeModifiersEnabled()) {
+                Player player = archetypeChunk.getComponent(index, Player.getComponentType());
+                TransformComponent transform = archetypeChunk.getComponent(index, TransformComponent.getComponentType());
+                if (player != null && player.getWorld() != null && transform != null) {
+                    biomeName = BiomeUtils.getBiomeNameAt(player.getWorld(), transform.getPosition());
+                }
+            }
+            biomeMultipliers = settings.getBiomeMultipliers(biomeName);
+
+            if (hungerDue && !lazyWakeup) {
+                float staminaModifier = ((FULL_STAMINA - lowestStaminaSeen) / FULL_STAMINA) * settings.getStarvationStaminaModifier();
+                float biomeMultiplier = biomeMultipliers[BiomeModifierResolver.HUNGER];
+                hunger.starve((settings.getStarvationPerTick() + staminaModifier) * biomeMultiplier);
+            }
+
+            if (hungerDue) {
+                float hungerLevel = hunger.getHungerLevel();
+                hungerEffects = (hungerEffects & ~HUNGER_STATE_EFFECTS) | getHungerStateEffects(hungerLevel, settings);
+                hungerDamage = hungerLevel == 0 ? settings.getStarvationDamage() : 0.0f;
+                if (playerRef != null) sendHungerHud(playerRef, hunger);
+            }
+
+            if (thirstDue) {
+                sprinting = isSprinting(index, archetypeChunk);
+                if (!lazyWakeup) {
+                    float finalDecay = settings.getThirstDecayRate();
+                    if (sprinting) {
+                        finalDecay *= settings.getSprintThirstMultiplier();
+                    }
+                    thirst.dehydrate(finalDecay * biomeMultipliers[BiomeModifierResolver.THIRST]);
+                }
+                // Dehydrated below threshold, damage only at 0
+                float thirstLevel = thirst.getThirstLevel();
+                boolean dehydrated = thirstLevel == 0 || thirstLevel < settings.getThirstyThreshold();
+                thirstEffects = withEffect(thirstEffects, ThirstComponent.EFFECT_DEHYDRATED, dehydrated);
+                thirstDamage = thirstLevel == 0 ? settings.getThirstDamage() : 0.0f;
+                if (playerRef != null) sendThirstHud(playerRef, thirst);
+            }
+        }
+
+        if (wellFedDue) {
+            // Compare against absolute threshold (like HungryThreshold)
+            // Example: if threshold=45 and maxHunger=50, buff activates at 45+ hunger
+            float wellFedThreshold = settings.getWellFedThreshold();
+            hungerEffects = withEffect(hungerEffects, HungerComponent.EFFECT_NOURISHED, hunger.getHungerLevel() >= wellFedThreshold);
+            thirstEffects = withEffect(thirstEffects, ThirstComponent.EFFECT_HYDRATED, thirst.getThirstLevel() >= wellFedThreshold);
+        }
+
+        // Only state transitions touch the effect controller
+        if (hungerEffects != hunger.getAppliedEffects() || (thirst != null && thirstEffects != thirst.getAppliedEffects())) {
+            applyEffectTransitions(ref, commandBuffer, hunger, hungerEffects, thirst, thirstEffects);
+        }
+
+        // Hunger and thirst damage, each under its own cause
+        EasyHungerUtils.applyMetabolismDamage(ref, commandBuffer, hungerDamage, thirstDamage);
+
+        // Idle after this step: stop stepping until something changes
+        if (settings.isLazyMetabolism() && hungerDue && biomeMultipliers != null
+            && lowestStaminaSeen >= FULL_STAMINA && !sprinting
+            && hungerDamage == 0.0f && thirstDamage == 0.0f) {
+            startLazy(scheduler, settings, hunger, thirstDue ? thirst : null, biomeMultipliers);
+        }
+    }
+
+    /**
+     * Ends lazy mode when the wakeup is reached, the player is no longer idle, the settings changed,
+     * or a write (eating, drinking, a jump) already ended it on one of the components. Both
+     * components leave lazy mode together and the step is restarted, the closed form already
+     * charged the decay up to now.
+     * @return LAZY to skip this tick, WOKEN if lazy mode just ended, ACTIVE if the player was not lazy
+     */
+    static int checkLazy(
+        MetabolismScheduler scheduler,
+        HungerComponent hunger,
+        @Nullable ThirstComponent thirst,
+        boolean idle,
+        long settingsVersion,
+        float tickRate
+    ) {
+        boolean interrupted = hunger.getAndResetLazyInterrupted() | (thirst != null && thirst.getAndResetLazyInterrupted());
+        if (!hunger.isLazy() && !interrupted) return ACTIVE;
+
+        if (!interrupted && idle
+            && scheduler.getTime() < hunger.getLazyWakeupAt()
+            && hunger.getLazySettingsVersion() == settingsVersion) {
+            return LAZY;
+        }
+
+        hunger.materialize();
+        if (thirst != null) thirst.materialize();
+        hunger.restartStep(scheduler, tickRate);
+        return WOKEN;
+    }
+
+    /**
+     * Switches the player to closed-form decay at the current per-second rates and schedules
+     * the wakeup at the first threshold or HUD step either level reaches.
+     */
+    private static void startLazy(
+        MetabolismScheduler scheduler,
+        MetabolismSettings settings,
+        HungerComponent hunger,
+        @Nullable ThirstComponent thirst,
+        float[] biomeMultipliers
+    ) {
+        float tickRate = settings.getStarvationTickRate();
+        if (tickRate <= 0.0f) return;
+
+        float wellFedThreshold = settings.isWellFedEnabled() ? settings.getWellFedThreshold() : -1.0f;
+
+        float hungerRate = settings.getStarvationPerTick() * biomeMultipliers[BiomeModifierResolver.HUNGER] / tickRate;
+        float hungerLevel = hunger.getHungerLevel();
+        double delay = Math.min(LAZY_MAX_INTERVAL, timeToNextBoundary(hungerLevel, hungerRate,
+            settings.getHungryThreshold(), wellFedThreshold, 0.0f,
+            EasyHungerHud.getNextLowerStepLevel(hungerLevel, settings.getMaxHunger())));
+
+        float thirstRate = 0.0f;
+        if (thirst != null) {
+            thirstRate = settings.getThirstDecayRate() * biomeMultipliers[BiomeModifierResolver.THIRST] / tickRate;
+            float thirstLevel = thirst.getThirstLevel();
+            delay = Math.min(delay, timeToNextBoundary(thirstLevel, thirstRate,
+                settings.getThirstyThreshold(), wellFedThreshold, 0.0f,
+                EasyHungerHud.getNextLowerStepLevel(thirstLevel, settings.getMaxThirst())));
+        }
+
+        // Not worth it when the next step is due anyway
+        if (delay <= tickRate) return;
+
+        hunger.startLazy(scheduler, hungerRate, scheduler.getTime() + delay, settings.getVersion());
+        if (thirst != null) thirst.startLazy(scheduler, thirstRate);
+    }
+
+    /**
+     * Seconds until a level decaying at rate (per second) drops to the highest boundary below it.
+     */
+    private static double timeToNextBoundary(float level, float rate, float... boundaries) {
+        if (rate <= 0.0f) return Double.POSITIVE_INFINITY;
+        float next = -1.0f;
+        for (float boundary : boundaries) {
+            if (boundary < level && boundary > next) next = boundary;
+        }
+        return next < 0.0f ? Double.POSITIVE_INFINITY : (level - next) / rate;
+    }
+
+    private static boolean isSprinting(int index, ArchetypeChunk<EntityStore> archetypeChunk) {
+        MovementStatesComponent movementComp = archetypeChunk.getComponent(index, MovementStatesComponent.getComponentType());
+        if (movementComp == null) return false;
+        MovementStates states = movementComp.getMovementStates();
+        return states != null && states.sprinting;
+    }
+
+    /**
+     * Hungry below the threshold, Starving at 0, nothing otherwise.
+     */
+    private static int getHungerStateEffects(float hungerLevel, MetabolismSettings settings) {
+        if (hungerLevel == 0) return HungerComponent.EFFECT_STARVING;
+        if (hungerLevel < settings.getHungryThreshold()) return HungerComponent.EFFECT_HUNGRY;
+        return 0;
+    }
+
+    private static int withEffect(int effects, int effectBit, boolean applied) {
+        return applied ? (effects | effectBit) : (effects & ~effectBit);
+    }
+
+    /**
+     * Adds/removes effects so the entity matches the wanted bits, then records what was applied.
+     */
+    private static void applyEffectTransitions(
+        Ref<EntityStore> ref,
+        CommandBuffer<EntityStore> commandBuffer,
+        HungerComponent hunger,
+        int hungerEffects,
+        @Nullable ThirstComponent thirst,
+        int thirstEffects
+    ) {
+        EffectControllerComponent effectController = commandBuffer.getComponent(ref, EffectControllerComponent.getComponentType());
+        if (effectController == null) return;
+
+        int appliedHunger = hunger.getAppliedEffects();
+        appliedHunger = syncEffect(ref, commandBuffer, effectController, appliedHunger, hungerEffects, HungerComponent.EFFECT_HUNGRY,
+            EffectIndexRegistry.getHungry(), EffectIndexRegistry.getHungryIndex());
+        appliedHunger = syncEffect(ref, commandBuffer, effectController, appliedHunger, hungerEffects, HungerComponent.EFFECT_STARVING,
+            EffectIndexRegistry.getStarving(), EffectIndexRegistry.getStarvingIndex());
+        appliedHunger = syncEffect(ref, commandBuffer, effectController, appliedHunger, hungerEffects, HungerComponent.EFFECT_NOURISHED,
+            EffectIndexRegistry.getNourished(), EffectIndexRegistry.getNourishedIndex());
+        hunger.setAppliedEffects(appliedHunger);
+
+        if (thirst != null) {
+            int appliedThirst = thirst.getAppliedEffects();
+            appliedThirst = syncEffect(ref, commandBuffer, effectController, appliedThirst, thirstEffects, ThirstComponent.EFFECT_DEHYDRATED,
+                EffectIndexRegistry.getDehydrated(), EffectIndexRegistry.getDehydratedIndex());
+            appliedThirst = syncEffect(ref, commandBuffer, effectController, appliedThirst, thirstEffects, ThirstComponent.EFFECT_HYDRATED,
+                EffectIndexRegistry.getHydrated(), EffectIndexRegistry.getHydratedIndex());
+            thirst.setAppliedEffects(appliedThirst);
+        }
+    }
+
+    /**
+     * Adds or removes a single effect when its wanted bit differs from the applied one.
+     * @return the applied bits afterwards
+     */
+    private static int syncEffect(
+        Ref<EntityStore> ref,
+        CommandBuffer<EntityStore> commandBuffer,
+        EffectControllerComponent effectController,
+        int applied,
+        int wanted,
+        int effectBit,
+        @Nullable EntityEffect effect,
+        int effectIndex
+    ) {
+        boolean isApplied = (applied & effectBit) != 0;
+        boolean isWanted = (wanted & effectBit) != 0;
+        if (isApplied == isWanted) return applied;
+
+        if (isWanted) {
+            // Asset missing, nothing to apply
+            if (effect == null) return applied;
+            effectController.addEffect(ref, effect, commandBuffer);
+            return applied | effectBit;
+        }
+
+        if (effectIndex != EffectIndexRegistry.NO_INDEX) {
+            effectController.removeEffect(ref, effectIndex, commandBuffer);
+        }
+        return applied & ~effectBit;
+    }
+
+    /**
+     * Rebuilds the applied effect bits from the entity's real effect list.
+     * Catches effects that expired, were cleared on death or removed by other mods.
+     */
+    private static void reconcileAppliedEffects(
+        Ref<EntityStore> ref,
+        CommandBuffer<EntityStore> commandBuffer,
+        HungerComponent hunger,
+        @Nullable ThirstComponent thirst
+    ) {
+        EffectControllerComponent effectController = commandBuffer.getComponent(ref, EffectControllerComponent.getComponentType());
+        ActiveEntityEffect[] activeEffects = effectController != null ? effectController.getAllActiveEntityEffects() : null;
+
+        int hungerEffects = 0;
+        int thirstEffects = 0;
+        if (activeEffects != null) {
+            int hungryIndex = EffectIndexRegistry.getHungryIndex();
+            int starvingIndex = EffectIndexRegistry.getStarvingIndex();
+            int nourishedIndex = EffectIndexRegistry.getNourishedIndex();
+            int dehydratedIndex = EffectIndexRegistry.getDehydratedIndex();
+            int hydratedIndex = EffectIndexRegistry.getHydratedIndex();
+
+            for (ActiveEntityEffect effect : activeEffects) {
+                int effectIndex = effect.getEntityEffectIndex();
+                if (effectIndex == hungryIndex) hungerEffects |= HungerComponent.EFFECT_HUNGRY;
+                else if (effectIndex == starvingIndex) hungerEffects |= HungerComponent.EFFECT_STARVING;
+                else if (effectIndex == nourishedIndex) hungerEffects |= HungerComponent.EFFECT_NOURISHED;
+                else if (effectIndex == dehydratedIndex) thirstEffects |= ThirstComponent.EFFECT_DEHYDRATED;
+                else if (effectIndex == hydratedIndex) thirstEffects |= ThirstComponent.EFFECT_HYDRATED;
+            }
+        }
+
+        hunger.setAppliedEffects(hungerEffects);
+        if (thirst != null) thirst.setAppliedEffects(thirstEffects);
+    }
+
+    // The HUDs drop values that render to the same pixel step, no change detection needed here
+    private static void sendHungerHud(PlayerRef playerRef, HungerComponent hunger) {
+        EasyHungerHud.updatePlayerHungerLevel(playerRef, hunger.getHungerLevel());
+    }
+
+    private static void sendThirstHud(PlayerRef playerRef, ThirstComponent thirst) {
+        EasyWaterHud.updatePlayerThirstLevel(playerRef, thirst.getThirstLevel());
+    }
+
+    public static boolean shouldRemoveEffectOnStarvation (ActiveEntityEffect effect) {
+        // Only remove our specific hunger-related debuffs
+        if (EasyHungerUtils.activeEntityEffectIsHungry(effect)) return true;
+        if (EasyHungerUtils.activeEntityEffectIsStarving(effect)) return true;
+        // Don't remove any other effects (like health regen from food)
+        return false;
+    }
+
+    public static float getStaminaValue(@NonNullDecl EntityStatMap entityStatMap) {
+        final int staminaRef = DefaultEntityStatTypes.getStamina();
+        final EntityStatValue statValue = entityStatMap.get(staminaRef);
+        if (statValue == null) return 10.0f; // Default stamina (max) value if not found
+        return statValue.get();
+    }
+}
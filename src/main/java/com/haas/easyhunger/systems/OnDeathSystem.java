@@ -41,12 +41,18 @@ public class OnDeathSystem extends DeathSystems.OnDeathSystem {
 
     @Override
     public void onComponentRemoved(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl DeathComponent component, @NonNullDecl Store<EntityStore> store, @NonNullDecl CommandBuffer<EntityStore> commandBuffer) {
-        EasyHungerUtils.setPlayerHungerLevel(ref, store, EasyHunger.get().getConfig().getMaxHunger());
+        EasyHungerUtils.setPlayerHungerLevel(ref, store, EasyHunger.get().getSettings().getMaxHunger());
+
+        // Effects may have been cleared on death, rebuild the applied effect bits on the next tick
+        HungerComponent hunger = store.getComponent(ref, HungerComponent.getComponentType());
+        if (hunger != null) {
+            hunger.invalidateAppliedEffects();
+        }
         
         // Reset Thirst
         ThirstComponent thirst = store.getComponent(ref, ThirstComponent.getComponentType());
         if (thirst != null) {
-            float max = EasyHunger.get().getConfig().getMaxThirst();
+            float max = EasyHunger.get().getSettings().getMaxThirst();
             thirst.setThirstLevel(max);
             
             // Should also update HUD if possible, but PlayerRef might be hard to get here?
@@ -9,35 +9,81 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.haas.easyhunger.EasyHunger;
 import com.haas.easyhunger.compat.hud.HudManager;
 import com.haas.easyhunger.components.HungerComponent;
-import com.haas.easyhunger.config.EasyHungerConfig;
 import com.haas.easyhunger.config.HudPosition;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
-import java.util.WeakHashMap;
+import java.util.UUID;
 
 
-public class EasyHungerHud extends CustomUIHud {
-    static private final WeakHashMap<PlayerRef, EasyHungerHud> hudMap = new WeakHashMap<>();
+public class EasyHungerHud extends CustomUIHud implements HudOutbox.PendingHud {
+    static private final HudRegistry<EasyHungerHud> hudRegistry = new HudRegistry<>();
     static public final String hudIdentifier = "com.haas.easyhunger.hud.hunger";
+    private final UUID playerUuid;
+    // Set once the HUD is registered, picks the HudOutbox world it is flushed with
+    private volatile String worldName;
     private GameMode gameMode;
     private float hungerLevel;
     private float previewHungerRestoration = 0.0f;
 
+    // Changes recorded since the last flush (NaN / null = unchanged), guarded by this
+    private float pendingHungerLevel = Float.NaN;
+    private float pendingPreview = Float.NaN;
+    private GameMode pendingGameMode = null;
+
+    // Last bar state handed to the outbox, in pixel steps (-1 = force resend)
+    private int sentHungerStep = -1;
+    private int sentMax = -1;
+
     public EasyHungerHud(@NonNullDecl PlayerRef playerRef, GameMode gameMode, float hungerLevel) {
         super(playerRef);
+        this.playerUuid = playerRef.getUuid();
         this.gameMode = gameMode;
         this.hungerLevel = hungerLevel;
-        hudMap.put(playerRef, this);
     }
 
     @Override
     protected void build(@NonNullDecl UICommandBuilder uiCommandBuilder) {
-        EasyHungerConfig config = EasyHunger.get().getConfig();
-        HudPosition hudPosition = config.getHudPosition();
+        HudPosition hudPosition = EasyHunger.get().getSettings().getHudPosition();
         uiCommandBuilder.append("HUD/Hunger/Hunger.ui");
         updateHudPosition(uiCommandBuilder, hudPosition);
         updateGameMode(uiCommandBuilder, this.gameMode);
         updateHungerLevel(uiCommandBuilder, this.hungerLevel);
+        synchronized (this) {
+            this.sentMax = EasyHunger.get().getSettings().getMaxHunger();
+            this.sentHungerStep = toPixelStep(this.hungerLevel, this.sentMax);
+        }
+    }
+
+    /**
+     * Width of the hunger/thirst bar container, see updateHudPosition.
+     */
+    static int getHotbarWidthHud() {
+        // Calculation constants from old mod .ui file
+        int DefaultItemSlotSize = 74;
+        int DefaultItemSlotsPerRow = 9;
+        int HotbarSlotSpacingHud = 4;
+        return (DefaultItemSlotSize * DefaultItemSlotsPerRow) + (HotbarSlotSpacingHud * DefaultItemSlotsPerRow);
+    }
+
+    /**
+     * Bar value quantized to the bar's pixel resolution. Levels that land on the same step render identically.
+     * The container width is an upper bound of the filled width, so no visible change is ever dropped.
+     */
+    static int toPixelStep(float level, int max) {
+        if (max <= 0) return 0;
+        float barValue = Math.max(0.0f, Math.min(level / max, 1.0f));
+        return Math.round(barValue * getHotbarWidthHud());
+    }
+
+    /**
+     * Highest level below the given one that renders to a different (lower) pixel step,
+     * or -1 if the bar is already empty.
+     */
+    public static float getNextLowerStepLevel(float level, int max) {
+        int step = toPixelStep(level, max);
+        if (step <= 0) return -1.0f;
+        // Math.round switches to step - 1 below (step - 0.5) pixels
+        return ((step - 0.5f) / getHotbarWidthHud()) * max;
     }
 
     protected void updateHudPosition(UICommandBuilder uiCommandBuilder, HudPosition hudPosition) {
@@ -49,7 +95,7 @@ public class EasyHungerHud extends CustomUIHud {
         
         int HotbarHeight = DefaultItemSlotSize + (2 * DefaultItemGridPadding);
         // Correct width calculation: 9 slots have 8 spaces between them
-        int HotbarWidthHud = (DefaultItemSlotSize * DefaultItemSlotsPerRow) + (HotbarSlotSpacingHud * DefaultItemSlotsPerRow);
+        int HotbarWidthHud = getHotbarWidthHud();
 
         int BottomMargin = 30;
         int ContainerMargin = 6;
@@ -75,7 +121,7 @@ public class EasyHungerHud extends CustomUIHud {
 
     protected void updateHungerLevel(UICommandBuilder uiCommandBuilder, float hungerLevel) {
         this.hungerLevel = hungerLevel;
-        float max = EasyHunger.get().getConfig().getMaxHunger();
+        float max = EasyHunger.get().getSettings().getMaxHunger();
         float barValue = hungerLevel / max;
         uiCommandBuilder.set("#EasyHungerHungerBar.Value", barValue);
         uiCommandBuilder.set("#EasyHungerCreativeHungerBar.Value", barValue);
@@ -95,7 +141,7 @@ public class EasyHungerHud extends CustomUIHud {
             return;
         }
         
-        float max = EasyHunger.get().getConfig().getMaxHunger();
+        float max = EasyHunger.get().getSettings().getMaxHunger();
         float expectedLevel = Math.min(this.hungerLevel + hungerRestoration, max);
         float previewBarValue = expectedLevel / max;
         
@@ -112,27 +158,85 @@ public class EasyHungerHud extends CustomUIHud {
         uiCommandBuilder.set("#EasyHungerCreativeHungerBar.Visible", gameMode == GameMode.Creative);
     }
 
+    /**
+     * Make this HUD the one updated for its player. Call once it is shown in the given world.
+     */
+    public void register(@NonNullDecl String worldName) {
+        this.worldName = worldName;
+        hudRegistry.register(worldName, this.playerUuid, this);
+    }
+
+    @Override
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    static public void removePlayer(@NonNullDecl UUID playerUuid) {
+        EasyHungerHud hud = hudRegistry.remove(playerUuid);
+        if (hud != null) HudOutbox.discard(hud);
+    }
+
+    static public void removeWorld(@NonNullDecl String worldName) {
+        for (EasyHungerHud hud : hudRegistry.removeWorld(worldName)) {
+            HudOutbox.discard(hud);
+        }
+    }
+
+    @Override
+    public void flushPending() {
+        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
+        synchronized (this) {
+            if (this.pendingGameMode == null && Float.isNaN(this.pendingHungerLevel) && Float.isNaN(this.pendingPreview)) return;
+            if (this.pendingGameMode != null) updateGameMode(uiCommandBuilder, this.pendingGameMode);
+            if (!Float.isNaN(this.pendingHungerLevel)) {
+                updateHungerLevel(uiCommandBuilder, this.pendingHungerLevel);
+            } else if (this.pendingGameMode != null) {
+                // Game mode switches bars, resend the level on the visible one
+                updateHungerLevel(uiCommandBuilder, this.hungerLevel);
+            }
+            if (!Float.isNaN(this.pendingPreview)) updateHungerPreview(uiCommandBuilder, this.pendingPreview);
+            this.pendingGameMode = null;
+            this.pendingHungerLevel = Float.NaN;
+            this.pendingPreview = Float.NaN;
+        }
+        update(false, uiCommandBuilder);
+    }
+
+    // The updatePlayer* methods only record the change, HudOutbox sends one merged update per tick
     static public void updatePlayerHungerLevel(@NonNullDecl PlayerRef playerRef, float hungerLevel) {
-        EasyHungerHud hud = hudMap.get(playerRef);
+        EasyHungerHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateHungerLevel(uiCommandBuilder, hungerLevel);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            int max = EasyHunger.get().getSettings().getMaxHunger();
+            int step = toPixelStep(hungerLevel, max);
+            if (step == hud.sentHungerStep && max == hud.sentMax) {
+                // Same visible bar: keep the exact value for previews, send nothing
+                if (Float.isNaN(hud.pendingHungerLevel)) hud.hungerLevel = hungerLevel;
+                else hud.pendingHungerLevel = hungerLevel;
+                return;
+            }
+            hud.pendingHungerLevel = hungerLevel;
+            hud.sentHungerStep = step;
+            hud.sentMax = max;
+        }
+        HudOutbox.markDirty(hud);
     }
     
     static public void updatePlayerHungerPreview(@NonNullDecl PlayerRef playerRef, float hungerRestoration) {
-        EasyHungerHud hud = hudMap.get(playerRef);
+        EasyHungerHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateHungerPreview(uiCommandBuilder, hungerRestoration);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            hud.pendingPreview = hungerRestoration;
+        }
+        HudOutbox.markDirty(hud);
     }
     
     static public void updatePlayerGameMode(@NonNullDecl PlayerRef playerRef, GameMode gameMode) {
-        EasyHungerHud hud = hudMap.get(playerRef);
+        EasyHungerHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateGameMode(uiCommandBuilder, gameMode);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            hud.pendingGameMode = gameMode;
+        }
+        HudOutbox.markDirty(hud);
     }
 }
@@ -22,8 +22,10 @@ import com.haas.easyhunger.EasyHunger;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * EasyHungerValuesPage - Interactive UI for viewing and editing food/drink values.
@@ -34,11 +36,28 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
     private String activeTab = "foods";
     private String searchQuery = "";
     private String category = "all"; // all, vanilla, nocube, ale, cheff, other
+
+    // Rows per page. Row elements in #ItemList are appended once and reused across updates.
+    private static final int PAGE_SIZE = 50;
+    private int page = 0;
+    // Per row element: the item id and value text it shows, null while the row is hidden
     private final List<String> itemIds = new ArrayList<>();
+    private final List<String> rowValues = new ArrayList<>();
+
+    // Value fields send an event per keystroke, the settings are republished once per burst
+    private static final long PUBLISH_DELAY_MS = 500;
+    private boolean publishScheduled = false;
+
+    // Last search, a query extending it only has to filter its results
+    private ItemSearchIndex lastSearchIndex;
+    private String lastSearchCategory;
+    private String lastSearchQuery;
+    private List<String> lastSearchResults;
 
     public static class ConfigEventData {
         public String action;
         public String index;
+        public String itemId;
         public String value;
         public String newItemId;
         public String newValue;
@@ -49,6 +68,7 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
                 .builder(ConfigEventData.class, ConfigEventData::new)
                 .append(new KeyedCodec<>("Action", Codec.STRING), (o, v) -> o.action = v, o -> o.action).add()
                 .append(new KeyedCodec<>("Index", Codec.STRING), (o, v) -> o.index = v, o -> o.index).add()
+                .append(new KeyedCodec<>("ItemId", Codec.STRING), (o, v) -> o.itemId = v, o -> o.itemId).add()
                 .append(new KeyedCodec<>("@Value", Codec.STRING), (o, v) -> o.value = v, o -> o.value).add()
                 .append(new KeyedCodec<>("@NewItemId", Codec.STRING), (o, v) -> o.newItemId = v, o -> o.newItemId).add()
                 .append(new KeyedCodec<>("@NewValue", Codec.STRING), (o, v) -> o.newValue = v, o -> o.newValue).add()
@@ -86,6 +106,7 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         cmd.set("#TotalLabel.Visible", !isConfigTab);
         cmd.set("#ColumnHeaders.Visible", !isConfigTab);
         cmd.set("#ItemList.Visible", !isConfigTab);
+        cmd.set("#PageRow.Visible", !isConfigTab);
         cmd.set("#AddSection.Visible", !isConfigTab);
         cmd.set("#AddRow.Visible", !isConfigTab);
         cmd.set("#ConfigList.Visible", isConfigTab);
@@ -103,85 +124,29 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
             ? EasyHunger.get().getFoodsConfig().getFoodValues()
             : EasyHunger.get().getDrinksConfig().getDrinkValues();
 
-        // Show/hide category buttons based on installed mods
-        cmd.set("#CatVanilla.Visible", hasCategoryItems("vanilla", allItems));
-        cmd.set("#CatNoCube.Visible", hasCategoryItems("nocube", allItems));
-        cmd.set("#CatSnip3.Visible", hasCategoryItems("snip3", allItems));
-        cmd.set("#CatHiddens.Visible", hasCategoryItems("hiddens", allItems));
-        cmd.set("#CatGalore.Visible", hasCategoryItems("galore", allItems));
-        cmd.set("#CatConnor.Visible", hasCategoryItems("connor", allItems));
-        cmd.set("#CatAle.Visible", hasCategoryItems("ale", allItems));
-        cmd.set("#CatCheff.Visible", hasCategoryItems("cheff", allItems));
-        cmd.set("#CatOther.Visible", hasCategoryItems("other", allItems));
-
-        final String query = searchQuery.toLowerCase().trim();
-        
-        // Filter by:
-        // 1. Item exists in game (installed mods only) OR is from EasyHunger mod
-        // 2. Search query (searches both ID and display name)
-        // 3. Category filter
-        Map<String, Float> items = allItems.entrySet().stream()
-            .filter(e -> {
-                String itemId = e.getKey();
-                // Always show EasyHunger mod items (our own mod)
-                if (itemId.startsWith("EasyHunger_")) return true;
-                // Always show items that would be categorized as OTHER (custom entries)
-                if (ItemCategoryFilter.getCategory(itemId).equals("other")) return true;
-                // Check if item exists in game for other mods
-                Item item = (Item) Item.getAssetMap().getAsset(itemId);
-                return item != null;
-            })
-            .filter(e -> {
-                if (query.isEmpty()) return true;
-                String id = e.getKey().toLowerCase();
-                String displayName = getDisplayName(e.getKey(), language).toLowerCase();
-                return id.contains(query) || displayName.contains(query);
-            })
-            .filter(e -> matchesCategory(e.getKey()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        itemIds.clear();
+        ItemCategoryFilter.CategoryTable table = ItemCategoryFilter.getTable(activeTab, allItems);
 
-        int index = 0;
-        for (Map.Entry<String, Float> entry : items.entrySet()) {
-            String itemId = entry.getKey();
-            float value = entry.getValue();
-            
-            itemIds.add(itemId);
-            
-            String selector = "#ItemList[" + index + "]";
-            cmd.append("#ItemList", "Pages/ItemEntry.ui");
-            
-            // Set item icon - map EasyHunger config IDs to real item IDs
-            String iconId = getIconItemId(itemId);
-            cmd.set(selector + " #ItemIcon.ItemId", iconId);
-            
-            // Show display name with item ID in tooltip
-            String displayName = getDisplayName(itemId, language);
-            cmd.set(selector + " #ItemName.Text", displayName);
-            cmd.set(selector + " #ItemName.TooltipTextSpans", Message.raw(itemId));
-            cmd.set(selector + " #ValueInput.Value", formatValue(value));
-            
-            evt.addEventBinding(
-                CustomUIEventBindingType.ValueChanged,
-                selector + " #ValueInput",
-                new EventData()
-                    .append("Action", "setValue")
-                    .append("Index", String.valueOf(index))
-                    .append("@Value", selector + " #ValueInput.Value"),
-                false
-            );
-            
-            index++;
-        }
+        // Show/hide category buttons based on installed mods
+        cmd.set("#CatVanilla.Visible", table.hasInstalledItems("vanilla"));
+        cmd.set("#CatNoCube.Visible", table.hasInstalledItems("nocube"));
+        cmd.set("#CatSnip3.Visible", table.hasInstalledItems("snip3"));
+        cmd.set("#CatHiddens.Visible", table.hasInstalledItems("hiddens"));
+        cmd.set("#CatGalore.Visible", table.hasInstalledItems("galore"));
+        cmd.set("#CatConnor.Visible", table.hasInstalledItems("connor"));
+        cmd.set("#CatAle.Visible", table.hasInstalledItems("ale"));
+        cmd.set("#CatCheff.Visible", table.hasInstalledItems("cheff"));
+        cmd.set("#CatOther.Visible", table.hasInstalledItems("other"));
+
+        final String query = searchQuery.toLowerCase(Locale.ROOT).trim();
+        ItemSearchIndex searchIndex = getSearchIndex(table, language);
+        List<String> items = filterItems(table, searchIndex, query);
+
+        // Fresh page, no rows exist yet
+        resetRows();
+        renderItemList(cmd, evt, allItems, items, searchIndex, language);
 
         // Total label
-        String itemType = activeTab.equals("foods") ? "foods" : "drinks";
-        if (query.isEmpty() && category.equals("all")) {
-            cmd.set("#TotalLabel.Text", "Total: " + index + " " + itemType);
-        } else {
-            cmd.set("#TotalLabel.Text", "Showing: " + index + " of " + allItems.size() + " " + itemType);
-        }
+        setTotalLabel(cmd, query, items.size(), allItems.size());
 
         // Bind tabs
         evt.addEventBinding(CustomUIEventBindingType.Activating, "#TabFoods", EventData.of("Action", "tab:foods"), false);
@@ -200,6 +165,10 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         evt.addEventBinding(CustomUIEventBindingType.Activating, "#CatCheff", EventData.of("Action", "cat:cheff"), false);
         evt.addEventBinding(CustomUIEventBindingType.Activating, "#CatOther", EventData.of("Action", "cat:other"), false);
 
+        // Bind page navigation
+        evt.addEventBinding(CustomUIEventBindingType.Activating, "#PrevPage", EventData.of("Action", "page:prev"), false);
+        evt.addEventBinding(CustomUIEventBindingType.Activating, "#NextPage", EventData.of("Action", "page:next"), false);
+
         // Bind search (button click)
         evt.addEventBinding(CustomUIEventBindingType.Activating, "#SearchButton",
             new EventData().append("Action", "search").append("@SearchQuery", "#SearchInput.Value"));
@@ -293,8 +262,120 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         return configId;
     }
 
-    private boolean matchesCategory(String itemId) {
-        return ItemCategoryFilter.matchesCategory(itemId, category);
+    /**
+     * Search index of the active tab in the player's language, built on first use.
+     */
+    private ItemSearchIndex getSearchIndex(ItemCategoryFilter.CategoryTable table, String language) {
+        return ItemSearchIndex.get(activeTab, language, table, itemId -> getDisplayName(itemId, language));
+    }
+
+    /**
+     * Filter by:
+     * 1. Item exists in game (installed mods only) OR is from EasyHunger mod OR is a custom entry
+     * 2. Category filter
+     * (both precomputed in the category table)
+     * 3. Search query (searches both ID and display name, precomputed in the search index)
+     */
+    private List<String> filterItems(ItemCategoryFilter.CategoryTable table, ItemSearchIndex searchIndex, String query) {
+        List<String> candidates = table.getIds(category);
+
+        // Typing narrows the query, so the previous matches already contain every new match
+        if (!query.isEmpty() && searchIndex == lastSearchIndex && category.equals(lastSearchCategory)
+                && lastSearchQuery != null && query.startsWith(lastSearchQuery)) {
+            candidates = lastSearchResults;
+        }
+
+        List<String> matches = searchIndex.search(candidates, query);
+        lastSearchIndex = searchIndex;
+        lastSearchCategory = category;
+        lastSearchQuery = query;
+        lastSearchResults = matches;
+        return matches;
+    }
+
+    /**
+     * Forget the row elements, the list was (re)created empty.
+     */
+    private void resetRows() {
+        itemIds.clear();
+        rowValues.clear();
+    }
+
+    /**
+     * Shows the current page of items. A row only gets commands for the fields that differ from
+     * what it already shows; missing rows are appended, rows past the end of the page are hidden.
+     */
+    private void renderItemList(UICommandBuilder cmd, UIEventBuilder evt, Map<String, Float> allItems,
+                                List<String> items, ItemSearchIndex searchIndex, String language) {
+        int pageCount = Math.max(1, (items.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(0, Math.min(page, pageCount - 1));
+        int from = page * PAGE_SIZE;
+        int rows = Math.min(PAGE_SIZE, items.size() - from);
+
+        for (int row = 0; row < rows; row++) {
+            String itemId = items.get(from + row);
+            Float configured = allItems.get(itemId);
+            String value = formatValue(configured != null ? configured : 0.0f);
+            String selector = "#ItemList[" + row + "]";
+
+            if (row == itemIds.size()) {
+                cmd.append("#ItemList", "Pages/ItemEntry.ui");
+                itemIds.add(null);
+                rowValues.add(null);
+            } else if (itemIds.get(row) == null) {
+                cmd.set(selector + ".Visible", true);
+            }
+
+            if (!itemId.equals(itemIds.get(row))) {
+                // Set item icon - map EasyHunger config IDs to real item IDs
+                cmd.set(selector + " #ItemIcon.ItemId", getIconItemId(itemId));
+
+                // Show display name with item ID in tooltip
+                String displayName = searchIndex.getDisplayName(itemId);
+                cmd.set(selector + " #ItemName.Text", displayName != null ? displayName : getDisplayName(itemId, language));
+                cmd.set(selector + " #ItemName.TooltipTextSpans", Message.raw(itemId));
+
+                // Re-bound with the new item, an edit still in flight from the old one is rejected
+                evt.addEventBinding(
+                    CustomUIEventBindingType.ValueChanged,
+                    selector + " #ValueInput",
+                    new EventData()
+                        .append("Action", "setValue")
+                        .append("Index", String.valueOf(row))
+                        .append("ItemId", itemId)
+                        .append("@Value", selector + " #ValueInput.Value"),
+                    false
+                );
+                itemIds.set(row, itemId);
+                // The field may hold text typed for the old item, always overwrite it
+                rowValues.set(row, null);
+            }
+            if (!value.equals(rowValues.get(row))) {
+                cmd.set(selector + " #ValueInput.Value", value);
+                rowValues.set(row, value);
+            }
+        }
+
+        // Hide rows past the end of the page, they are reused when the list grows again
+        for (int row = rows; row < itemIds.size(); row++) {
+            if (itemIds.get(row) != null) {
+                cmd.set("#ItemList[" + row + "].Visible", false);
+                itemIds.set(row, null);
+                rowValues.set(row, null);
+            }
+        }
+
+        cmd.set("#PageRow.Visible", pageCount > 1);
+        cmd.set("#PageLabel.Text", "Page " + (page + 1) + " / " + pageCount);
+    }
+
+    private void setTotalLabel(UICommandBuilder cmd, String query, int shown, int total) {
+        String itemType = activeTab.equals("foods") ? "foods" : "drinks";
+        if (query.isEmpty() && category.equals("all")) {
+            cmd.set("#TotalLabel.Text", "Total: " + shown + " " + itemType);
+        } else {
+            cmd.set("#TotalLabel.Text", "Showing: " + shown + " of " + total + " " + itemType);
+        }
     }
 
     @Override
@@ -315,17 +396,25 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
             rebuild(ref, store);
         } else if (data.action.startsWith("cat:")) {
             category = data.action.substring(4);
+            page = 0;
             updateItemList(ref, store);
         } else if (data.action.equals("search")) {
             searchQuery = data.searchQuery != null ? data.searchQuery : "";
+            page = 0;
+            updateItemList(ref, store);
+        } else if (data.action.equals("page:prev")) {
+            page--;
+            updateItemList(ref, store);
+        } else if (data.action.equals("page:next")) {
+            page++;
             updateItemList(ref, store);
         } else if (data.action.equals("add")) {
             handleAdd(data);
             rebuild(ref, store);
          } else if (data.action.equals("setValue")) {
-            handleSetValue(data);
+            handleSetValue(data, store);
         } else if (data.action.equals("setConfig")) {
-            handleSetConfig(data);
+            handleSetConfig(data, store);
         }
     }
     
@@ -338,80 +427,21 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         UIEventBuilder evt = new UIEventBuilder();
         
         String language = playerRef.getLanguage();
-        String query = searchQuery.toLowerCase();
-        
+        String query = searchQuery.toLowerCase(Locale.ROOT).trim();
+
         Map<String, Float> allItems = activeTab.equals("foods") 
             ? EasyHunger.get().getFoodsConfig().getFoodValues()
             : EasyHunger.get().getDrinksConfig().getDrinkValues();
         
-        // Filter by:
-        // 1. Item exists in game (installed mods only)
-        // 2. Search query (searches both ID and display name)
-        // 3. Category filter
-        Map<String, Float> items = allItems.entrySet().stream()
-            .filter(e -> {
-                String itemId = e.getKey();
-                // Always show EasyHunger mod items (our own mod)
-                if (itemId.startsWith("EasyHunger_")) return true;
-                // Always show items that would be categorized as OTHER (custom entries)
-                if (ItemCategoryFilter.getCategory(itemId).equals("other")) return true;
-                // Check if item exists in game for other mods
-                Item item = (Item) Item.getAssetMap().getAsset(itemId);
-                return item != null;
-            })
-            .filter(e -> {
-                if (query.isEmpty()) return true;
-                String id = e.getKey().toLowerCase();
-                String displayName = getDisplayName(e.getKey(), language).toLowerCase();
-                return id.contains(query) || displayName.contains(query);
-            })
-            .filter(e -> matchesCategory(e.getKey()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        ItemCategoryFilter.CategoryTable table = ItemCategoryFilter.getTable(activeTab, allItems);
+        ItemSearchIndex searchIndex = getSearchIndex(table, language);
+        List<String> items = filterItems(table, searchIndex, query);
         
-        // Clear existing list (like JET does)
-        cmd.clear("#ItemList");
-        
-        itemIds.clear();
-        
-        int index = 0;
-        for (Map.Entry<String, Float> entry : items.entrySet()) {
-            String itemId = entry.getKey();
-            float value = entry.getValue();
-            
-            itemIds.add(itemId);
-            
-            String selector = "#ItemList[" + index + "]";
-            cmd.append("#ItemList", "Pages/ItemEntry.ui");
-            
-            // Set item icon - map EasyHunger config IDs to real item IDs
-            String iconId = getIconItemId(itemId);
-            cmd.set(selector + " #ItemIcon.ItemId", iconId);
-            
-            String displayName = getDisplayName(itemId, language);
-            cmd.set(selector + " #ItemName.Text", displayName);
-            cmd.set(selector + " #ItemName.TooltipTextSpans", Message.raw(itemId));
-            cmd.set(selector + " #ValueInput.Value", formatValue(value));
-            
-            evt.addEventBinding(
-                CustomUIEventBindingType.ValueChanged,
-                selector + " #ValueInput",
-                new EventData()
-                    .append("Action", "setValue")
-                    .append("Index", String.valueOf(index))
-                    .append("@Value", selector + " #ValueInput.Value"),
-                false
-            );
-            
-            index++;
-        }
+        // Only rows that changed are sent, the list itself is not cleared
+        renderItemList(cmd, evt, allItems, items, searchIndex, language);
         
         // Update total label
-        String itemType = activeTab.equals("foods") ? "foods" : "drinks";
-        if (query.isEmpty() && category.equals("all")) {
-            cmd.set("#TotalLabel.Text", "Total: " + index + " " + itemType);
-        } else {
-            cmd.set("#TotalLabel.Text", "Showing: " + index + " of " + allItems.size() + " " + itemType);
-        }
+        setTotalLabel(cmd, query, items.size(), allItems.size());
         
         sendUpdate(cmd, evt, false);
     }
@@ -490,10 +520,13 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
             EasyHunger.get().getDrinksConfig().setDrinkValue(itemId, value);
             EasyHunger.get().saveDrinksConfig();
         }
+        EasyHunger.get().publishSettings();
+        // The only edit that changes the shown ids
+        ItemCategoryFilter.invalidateTables();
         playerRef.sendMessage(Message.empty().insert("Added: " + itemId + " = " + formatValue(value)));
     }
 
-    private void handleSetValue(ConfigEventData data) {
+    private void handleSetValue(ConfigEventData data, Store<EntityStore> store) {
         if (data.index == null || data.value == null) return;
         
         try {
@@ -501,6 +534,8 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
             if (idx < 0 || idx >= itemIds.size()) return;
             
             String itemId = itemIds.get(idx);
+            // Sent before the row was given another item, or the row is hidden
+            if (itemId == null || !itemId.equals(data.itemId)) return;
             float newValue;
             
             try {
@@ -518,6 +553,9 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
                 EasyHunger.get().getDrinksConfig().setDrinkValue(itemId, newValue);
                 EasyHunger.get().saveDrinksConfig();
             }
+            publishSettingsSoon(store);
+            // The field shows what was typed, the next list update corrects it if it differs from the stored value
+            rowValues.set(idx, data.value.trim());
             playerRef.sendMessage(Message.empty().insert("Updated: " + itemId + " = " + formatValue(newValue)));
             
         } catch (NumberFormatException e) {
@@ -525,7 +563,7 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         }
     }
 
-    private void handleSetConfig(ConfigEventData data) {
+    private void handleSetConfig(ConfigEventData data, Store<EntityStore> store) {
         if (data.configKey == null || data.value == null) return;
         
         var config = EasyHunger.get().getConfig();
@@ -582,7 +620,8 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
                     return;
             }
             
-            // Save config
+            // Publish the new snapshot to the tick systems once typing stops, then save
+            publishSettingsSoon(store);
             EasyHunger.get().saveConfig();
             playerRef.sendMessage(Message.empty().insert("Config updated: " + key + " = " + valueStr));
             
@@ -591,6 +630,21 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
         }
     }
 
+    /**
+     * Republish the settings PUBLISH_DELAY_MS after the first edit of a burst, on the world thread
+     * that handles this page's events and edits the configs.
+     */
+    private void publishSettingsSoon(Store<EntityStore> store) {
+        if (publishScheduled) return;
+        publishScheduled = true;
+
+        var world = store.getExternalData().getWorld();
+        CompletableFuture.runAsync(() -> {
+            publishScheduled = false;
+            EasyHunger.get().publishSettings();
+        }, CompletableFuture.delayedExecutor(PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS, world::execute));
+    }
+
     private void rebuild(Ref<EntityStore> ref, Store<EntityStore> store) {
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player != null) {
@@ -605,20 +659,4 @@ public class EasyHungerValuesPage extends InteractiveCustomUIPage<EasyHungerValu
             return String.format("%.1f", value);
         }
     }
-
-    /**
-     * Checks if there are any installed items for a specific category.
-     * Used to hide category buttons when no items from that mod are installed.
-     */
-    private boolean hasCategoryItems(String categoryName, Map<String, Float> allItems) {
-        return allItems.keySet().stream().anyMatch(itemId -> {
-            // Check if item exists in game (or is from EasyHunger)
-            if (!itemId.startsWith("EasyHunger_")) {
-                Item item = (Item) Item.getAssetMap().getAsset(itemId);
-                if (item == null) return false;
-            }
-            // Check category using the filter
-            return ItemCategoryFilter.matchesCategory(itemId, categoryName);
-        });
-    }
 }
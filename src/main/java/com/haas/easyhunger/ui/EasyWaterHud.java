@@ -8,34 +8,48 @@ import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.haas.easyhunger.EasyHunger;
 import com.haas.easyhunger.components.ThirstComponent;
-import com.haas.easyhunger.config.EasyHungerConfig;
 import com.haas.easyhunger.config.HudPosition;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
-import java.util.WeakHashMap;
+import java.util.UUID;
 
-public class EasyWaterHud extends CustomUIHud {
-    static private final WeakHashMap<PlayerRef, EasyWaterHud> hudMap = new WeakHashMap<>();
+public class EasyWaterHud extends CustomUIHud implements HudOutbox.PendingHud {
+    static private final HudRegistry<EasyWaterHud> hudRegistry = new HudRegistry<>();
     static public final String hudIdentifier = "com.haas.easyhunger.hud.water";
+    private final UUID playerUuid;
+    // Set once the HUD is registered, picks the HudOutbox world it is flushed with
+    private volatile String worldName;
     private GameMode gameMode;
     private float thirstLevel;
     private float previewThirstRestoration = 0.0f;
 
+    // Changes recorded since the last flush (NaN / null = unchanged), guarded by this
+    private float pendingThirstLevel = Float.NaN;
+    private float pendingPreview = Float.NaN;
+    private GameMode pendingGameMode = null;
+
+    // Last bar state handed to the outbox, in pixel steps (-1 = force resend)
+    private int sentThirstStep = -1;
+    private int sentMax = -1;
+
     public EasyWaterHud(@NonNullDecl PlayerRef playerRef, GameMode gameMode, float thirstLevel) {
         super(playerRef);
+        this.playerUuid = playerRef.getUuid();
         this.gameMode = gameMode;
         this.thirstLevel = thirstLevel;
-        hudMap.put(playerRef, this);
     }
 
     @Override
     protected void build(@NonNullDecl UICommandBuilder uiCommandBuilder) {
-        EasyHungerConfig config = EasyHunger.get().getConfig();
-        HudPosition hudPosition = config.getHudPosition();
+        HudPosition hudPosition = EasyHunger.get().getSettings().getHudPosition();
         uiCommandBuilder.append("HUD/Hunger/Water.ui");
         updateHudPosition(uiCommandBuilder, hudPosition);
         updateGameMode(uiCommandBuilder, this.gameMode);
         updateThirstLevel(uiCommandBuilder, this.thirstLevel);
+        synchronized (this) {
+            this.sentMax = EasyHunger.get().getSettings().getMaxThirst();
+            this.sentThirstStep = EasyHungerHud.toPixelStep(this.thirstLevel, this.sentMax);
+        }
     }
 
     protected void updateHudPosition(UICommandBuilder uiCommandBuilder, HudPosition hudPosition) {
@@ -45,7 +59,7 @@ public class EasyWaterHud extends CustomUIHud {
         int HotbarSlotSpacingHud = 4;
         
         int HotbarHeight = DefaultItemSlotSize + (2 * DefaultItemGridPadding);
-        int HotbarWidthHud = (DefaultItemSlotSize * DefaultItemSlotsPerRow) + (HotbarSlotSpacingHud * DefaultItemSlotsPerRow);
+        int HotbarWidthHud = EasyHungerHud.getHotbarWidthHud();
 
         int BottomMargin = 30;
         int ContainerMargin = 6;
@@ -75,7 +89,7 @@ public class EasyWaterHud extends CustomUIHud {
 
     protected void updateThirstLevel(UICommandBuilder uiCommandBuilder, float thirstLevel) {
         this.thirstLevel = thirstLevel;
-        float max = EasyHunger.get().getConfig().getMaxThirst();
+        float max = EasyHunger.get().getSettings().getMaxThirst();
         float barValue = thirstLevel / max;
         uiCommandBuilder.set("#EasyWaterThirstBar.Value", barValue);
         uiCommandBuilder.set("#EasyWaterCreativeThirstBar.Value", barValue);
@@ -95,7 +109,7 @@ public class EasyWaterHud extends CustomUIHud {
             return;
         }
         
-        float max = EasyHunger.get().getConfig().getMaxThirst();
+        float max = EasyHunger.get().getSettings().getMaxThirst();
         float expectedLevel = Math.min(this.thirstLevel + thirstRestoration, max);
         float previewBarValue = expectedLevel / max;
         
@@ -112,27 +126,85 @@ public class EasyWaterHud extends CustomUIHud {
         uiCommandBuilder.set("#EasyWaterCreativeThirstBar.Visible", gameMode == GameMode.Creative);
     }
 
+    /**
+     * Make this HUD the one updated for its player. Call once it is shown in the given world.
+     */
+    public void register(@NonNullDecl String worldName) {
+        this.worldName = worldName;
+        hudRegistry.register(worldName, this.playerUuid, this);
+    }
+
+    @Override
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    static public void removePlayer(@NonNullDecl UUID playerUuid) {
+        EasyWaterHud hud = hudRegistry.remove(playerUuid);
+        if (hud != null) HudOutbox.discard(hud);
+    }
+
+    static public void removeWorld(@NonNullDecl String worldName) {
+        for (EasyWaterHud hud : hudRegistry.removeWorld(worldName)) {
+            HudOutbox.discard(hud);
+        }
+    }
+
+    @Override
+    public void flushPending() {
+        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
+        synchronized (this) {
+            if (this.pendingGameMode == null && Float.isNaN(this.pendingThirstLevel) && Float.isNaN(this.pendingPreview)) return;
+            if (this.pendingGameMode != null) updateGameMode(uiCommandBuilder, this.pendingGameMode);
+            if (!Float.isNaN(this.pendingThirstLevel)) {
+                updateThirstLevel(uiCommandBuilder, this.pendingThirstLevel);
+            } else if (this.pendingGameMode != null) {
+                // Game mode switches bars, resend the level on the visible one
+                updateThirstLevel(uiCommandBuilder, this.thirstLevel);
+            }
+            if (!Float.isNaN(this.pendingPreview)) updateThirstPreview(uiCommandBuilder, this.pendingPreview);
+            this.pendingGameMode = null;
+            this.pendingThirstLevel = Float.NaN;
+            this.pendingPreview = Float.NaN;
+        }
+        update(false, uiCommandBuilder);
+    }
+
+    // The updatePlayer* methods only record the change, HudOutbox sends one merged update per tick
     static public void updatePlayerThirstLevel(@NonNullDecl PlayerRef playerRef, float thirstLevel) {
-        EasyWaterHud hud = hudMap.get(playerRef);
+        EasyWaterHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateThirstLevel(uiCommandBuilder, thirstLevel);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            int max = EasyHunger.get().getSettings().getMaxThirst();
+            int step = EasyHungerHud.toPixelStep(thirstLevel, max);
+            if (step == hud.sentThirstStep && max == hud.sentMax) {
+                // Same visible bar: keep the exact value for previews, send nothing
+                if (Float.isNaN(hud.pendingThirstLevel)) hud.thirstLevel = thirstLevel;
+                else hud.pendingThirstLevel = thirstLevel;
+                return;
+            }
+            hud.pendingThirstLevel = thirstLevel;
+            hud.sentThirstStep = step;
+            hud.sentMax = max;
+        }
+        HudOutbox.markDirty(hud);
     }
     
     static public void updatePlayerThirstPreview(@NonNullDecl PlayerRef playerRef, float thirstRestoration) {
-        EasyWaterHud hud = hudMap.get(playerRef);
+        EasyWaterHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateThirstPreview(uiCommandBuilder, thirstRestoration);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            hud.pendingPreview = thirstRestoration;
+        }
+        HudOutbox.markDirty(hud);
     }
     
     static public void updatePlayerGameMode(@NonNullDecl PlayerRef playerRef, GameMode gameMode) {
-        EasyWaterHud hud = hudMap.get(playerRef);
+        EasyWaterHud hud = hudRegistry.get(playerRef.getUuid());
         if (hud == null) return;
-        UICommandBuilder uiCommandBuilder = new UICommandBuilder();
-        hud.updateGameMode(uiCommandBuilder, gameMode);
-        hud.update(false, uiCommandBuilder);
+        synchronized (hud) {
+            hud.pendingGameMode = gameMode;
+        }
+        HudOutbox.markDirty(hud);
     }
 }
@@ -0,0 +1,102 @@
+package com.haas.easyhunger.ui;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers HUD changes so each HUD sends at most one merged update per tick.
+ *
+ * The static update* methods of EasyHungerHud / EasyWaterHud only record the new value on the
+ * HUD and mark it dirty here; HudFlushSystem drains the dirty set of its world at the end of
+ * that world's tick, so a world never sends (or waits on) another world's HUDs.
+ * Safe to call from any thread (interactions, packet watchers, tick systems).
+ */
+public final class HudOutbox {
+
+    /**
+     * A HUD holding pending changes.
+     */
+    public interface PendingHud {
+        /**
+         * Send every pending change as one update, then clear them.
+         */
+        void flushPending();
+
+        /**
+         * World the HUD is shown in, null until it is registered.
+         */
+        String getWorldName();
+    }
+
+    // Per world name
+    private static final Map<String, Set<PendingHud>> dirtyHuds = new ConcurrentHashMap<>();
+
+    // Stats
+    private static final AtomicLong requestedUpdates = new AtomicLong();
+    private static final AtomicLong sentUpdates = new AtomicLong();
+
+    private HudOutbox() {
+    }
+
+    /**
+     * Mark a HUD as having pending changes. Called after the change was recorded on the HUD.
+     */
+    public static void markDirty(PendingHud hud) {
+        String worldName = hud.getWorldName();
+        if (worldName == null) return;
+        requestedUpdates.incrementAndGet();
+        dirtyHuds.computeIfAbsent(worldName, name -> ConcurrentHashMap.newKeySet()).add(hud);
+    }
+
+    /**
+     * Send one merged update for every dirty HUD of a world. Called on that world's thread.
+     */
+    public static void flush(String worldName) {
+        Set<PendingHud> dirty = dirtyHuds.get(worldName);
+        if (dirty == null || dirty.isEmpty()) return;
+
+        Iterator<PendingHud> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            PendingHud hud = iterator.next();
+            // Removed before flushing, so a change recorded meanwhile marks it dirty again
+            iterator.remove();
+            hud.flushPending();
+            sentUpdates.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop a HUD without sending its pending changes (player left).
+     */
+    public static void discard(PendingHud hud) {
+        String worldName = hud.getWorldName();
+        if (worldName == null) return;
+        Set<PendingHud> dirty = dirtyHuds.get(worldName);
+        if (dirty != null) dirty.remove(hud);
+    }
+
+    /**
+     * Drop the dirty set of a removed world.
+     */
+    public static void removeWorld(String worldName) {
+        dirtyHuds.remove(worldName);
+    }
+
+    public static long getRequestedUpdates() {
+        return requestedUpdates.get();
+    }
+
+    public static long getSentUpdates() {
+        return sentUpdates.get();
+    }
+
+    /**
+     * Number of update requests merged into another update instead of being sent.
+     */
+    public static long getCoalescedUpdates() {
+        return requestedUpdates.get() - sentUpdates.get();
+    }
+}
@@ -0,0 +1,68 @@
+package com.haas.easyhunger.ui;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe HUD lookup, sharded by world and keyed by player UUID.
+ * Reads are lock-free so tick threads of different worlds never contend. Entries are removed
+ * explicitly (disconnect, world removal) or moved when the player gets a HUD in another world.
+ */
+public final class HudRegistry<T> {
+
+    private final Map<String, Map<UUID, T>> shards = new ConcurrentHashMap<>();
+    // Which shard currently holds a player, for callers that only know the player
+    private final Map<UUID, String> playerWorlds = new ConcurrentHashMap<>();
+
+    /**
+     * Register the HUD of a player in a world, replacing (and moving) any previous one.
+     */
+    public void register(String worldName, UUID playerUuid, T hud) {
+        String previousWorld = playerWorlds.put(playerUuid, worldName);
+        if (previousWorld != null && !previousWorld.equals(worldName)) {
+            Map<UUID, T> previousShard = shards.get(previousWorld);
+            if (previousShard != null) previousShard.remove(playerUuid);
+        }
+        shards.computeIfAbsent(worldName, name -> new ConcurrentHashMap<>()).put(playerUuid, hud);
+    }
+
+    @Nullable
+    public T get(UUID playerUuid) {
+        String worldName = playerWorlds.get(playerUuid);
+        if (worldName == null) return null;
+        Map<UUID, T> shard = shards.get(worldName);
+        return shard != null ? shard.get(playerUuid) : null;
+    }
+
+    /**
+     * Remove the HUD of a player, wherever it is registered.
+     * @return the removed HUD, or null
+     */
+    @Nullable
+    public T remove(UUID playerUuid) {
+        String worldName = playerWorlds.remove(playerUuid);
+        if (worldName == null) return null;
+        Map<UUID, T> shard = shards.get(worldName);
+        return shard != null ? shard.remove(playerUuid) : null;
+    }
+
+    /**
+     * Remove every HUD registered in a world.
+     * @return the removed HUDs, never null
+     */
+    public Iterable<T> removeWorld(String worldName) {
+        Map<UUID, T> shard = shards.remove(worldName);
+        if (shard == null) return java.util.List.of();
+        for (UUID playerUuid : shard.keySet()) {
+            // Only if the player did not move to another world meanwhile
+            playerWorlds.remove(playerUuid, worldName);
+        }
+        return shard.values();
+    }
+
+    public int size() {
+        return playerWorlds.size();
+    }
+}
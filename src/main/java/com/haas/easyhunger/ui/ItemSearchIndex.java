@@ -0,0 +1,98 @@
+package com.haas.easyhunger.ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Search data for one values tab in one language: the lowercased id and translated display name
+ * of every shown item, resolved once instead of on every keystroke.
+ *
+ * Built lazily the first time the tab is opened in a language, and rebuilt only when the tab's
+ * CategoryTable is (an item added, the rules recompiled) or Item assets are reloaded. Value edits
+ * keep both. Shared by every admin using the same language.
+ */
+public final class ItemSearchIndex {
+
+    // Per tab and language
+    private static final Map<String, ItemSearchIndex> indices = new ConcurrentHashMap<>();
+
+    // The table's id list this index was built from
+    private final List<String> ids;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private ItemSearchIndex(List<String> ids, Function<String, String> displayNames) {
+        this.ids = ids;
+        for (String itemId : ids) {
+            entries.put(itemId, new Entry(itemId, displayNames.apply(itemId)));
+        }
+    }
+
+    /**
+     * Index of the tab's table in a language, built on first use.
+     * @param displayNames Resolves an item id to its display name in that language
+     */
+    public static ItemSearchIndex get(String tab, String language, ItemCategoryFilter.CategoryTable table,
+                                      Function<String, String> displayNames) {
+        String key = tab + "|" + language;
+        List<String> ids = table.getIds(ItemCategoryFilter.ALL);
+        ItemSearchIndex index = indices.get(key);
+        if (index == null || index.ids != ids) {
+            index = new ItemSearchIndex(ids, displayNames);
+            indices.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Drop every index, e.g. because translations were reloaded with the assets.
+     */
+    public static void invalidateAll() {
+        indices.clear();
+    }
+
+    /**
+     * Precomputed display name, null if the id is not shown on this tab.
+     */
+    public String getDisplayName(String itemId) {
+        Entry entry = entries.get(itemId);
+        return entry != null ? entry.displayName : null;
+    }
+
+    /**
+     * The candidates whose id or display name contains the query, in candidate order.
+     * @param query Lowercased search text, empty matches everything
+     */
+    public List<String> search(List<String> candidates, String query) {
+        if (query.isEmpty()) return candidates;
+
+        List<String> matches = new ArrayList<>();
+        for (String itemId : candidates) {
+            Entry entry = entries.get(itemId);
+            if (entry != null && entry.matches(query)) {
+                matches.add(itemId);
+            }
+        }
+        return matches;
+    }
+
+    private static final class Entry {
+        private final String displayName;
+        private final String lowerId;
+        private final String lowerName;
+
+        private Entry(String itemId, String displayName) {
+            this.displayName = displayName;
+            this.lowerId = itemId.toLowerCase(Locale.ROOT);
+            this.lowerName = displayName.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean matches(String query) {
+            return lowerId.contains(query) || lowerName.contains(query);
+        }
+    }
+}
@@ -11,12 +11,41 @@ import com.hypixel.hytale.server.worldgen.chunk.ZoneBiomeResult;
 import com.hypixel.hytale.component.Holder;
 
 import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for detecting biome at player's position.
  * Uses the same approach as BetterMap mod.
+ *
+ * Worldgen sampling is expensive, so results are cached per world in bounded LRUs. A chunk is
+ * sampled once at its center and corners: if they all agree the chunk is treated as a single
+ * biome and cached as one entry, otherwise the chunk is marked mixed and the player's own column
+ * is sampled and cached, so players near a biome border get the biome they stand in.
+ * Both the biome and zone names are kept, so hunger, thirst and any zone lookups share a sample.
  */
 public class BiomeUtils {
+
+    // Chunks are 32x32 columns
+    private static final int CHUNK_SHIFT = 5;
+    private static final int CHUNK_CENTER_OFFSET = 16;
+    private static final int CHUNK_LAST_OFFSET = 31;
+
+    // Max cached chunks per world (a few players each roaming a large area)
+    private static final int MAX_CACHED_CHUNKS_PER_WORLD = 4096;
+    // Max cached single columns per world, only used inside mixed chunks
+    private static final int MAX_CACHED_COLUMNS_PER_WORLD = 8192;
+
+    // Cached for chunks whose samples disagree, their columns are looked up one by one
+    private static final BiomeSample MIXED = new BiomeSample(null, null);
+
+    private static final Map<String, WorldBiomeCache> worldCaches = new ConcurrentHashMap<>();
+
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
     
     /**
      * Get the biome name at the player's current position.
@@ -42,61 +71,201 @@ public class BiomeUtils {
     
     /**
      * Get the biome name at a specific position in the world.
+     * Resolution is one chunk, or one column where the chunk spans several biomes. The result is cached.
      * @param world The world
      * @param position The position to check
      * @return Biome name, or null if unable to detect
      */
     @Nullable
     public static String getBiomeNameAt(World world, Vector3d position) {
-        if (world == null || position == null) return null;
-        
-        try {
-            IWorldGen worldGen = world.getChunkStore().getGenerator();
-            if (!(worldGen instanceof ChunkGenerator)) return null;
-            
-            ChunkGenerator generator = (ChunkGenerator) worldGen;
-            int seed = (int) world.getWorldConfig().getSeed();
-            int x = (int) position.getX();
-            int z = (int) position.getZ();
-            
-            ZoneBiomeResult result = generator.generateZoneBiomeResultAt(seed, x, z);
-            if (result == null) return null;
-            
-            Biome biome = result.getBiome();
-            if (biome == null) return null;
-            
-            return biome.getName();
-        } catch (Exception e) {
-            // Silently fail - biome detection is optional
-            return null;
-        }
+        BiomeSample sample = getSampleAt(world, position);
+        return sample != null ? sample.biomeName : null;
     }
     
     /**
      * Get the zone name at a specific position in the world.
+     * Resolution is one chunk, or one column where the chunk spans several biomes. The result is cached.
      * @param world The world
      * @param position The position to check
      * @return Zone name, or null if unable to detect
      */
     @Nullable
     public static String getZoneNameAt(World world, Vector3d position) {
+        BiomeSample sample = getSampleAt(world, position);
+        return sample != null ? sample.zoneName : null;
+    }
+
+    /**
+     * Drop every cached sample for a world. Called when the world is removed.
+     */
+    public static void invalidateWorld(String worldName) {
+        if (worldName == null) return;
+        worldCaches.remove(worldName);
+    }
+
+    /**
+     * Drop every cached sample for every world.
+     */
+    public static void clearCache() {
+        worldCaches.clear();
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public static int getCacheSize() {
+        int size = 0;
+        for (WorldBiomeCache cache : worldCaches.values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    @Nullable
+    private static BiomeSample getSampleAt(World world, Vector3d position) {
         if (world == null || position == null) return null;
-        
+
         try {
-            IWorldGen worldGen = world.getChunkStore().getGenerator();
-            if (!(worldGen instanceof ChunkGenerator)) return null;
-            
-            ChunkGenerator generator = (ChunkGenerator) worldGen;
-            int seed = (int) world.getWorldConfig().getSeed();
-            int x = (int) position.getX();
-            int z = (int) position.getZ();
-            
-            ZoneBiomeResult result = generator.generateZoneBiomeResultAt(seed, x, z);
-            if (result == null || result.getZoneResult() == null) return null;
-            
-            return result.getZoneResult().getZone().name();
+            String worldName = world.getName();
+            if (worldName == null) return null;
+
+            int x = (int) Math.floor(position.getX());
+            int z = (int) Math.floor(position.getZ());
+            int chunkX = x >> CHUNK_SHIFT;
+            int chunkZ = z >> CHUNK_SHIFT;
+
+            WorldBiomeCache cache = worldCaches.computeIfAbsent(worldName, name -> new WorldBiomeCache());
+            long chunkKey = key(chunkX, chunkZ);
+            BiomeSample sample = cache.chunks.get(chunkKey);
+            if (sample == null) {
+                cacheMisses.incrementAndGet();
+                sample = sampleChunk(world, chunkX, chunkZ);
+                // Failed samples are not cached, the generator may not be ready yet
+                if (sample == null) return null;
+                cache.chunks.put(chunkKey, sample);
+            } else {
+                cacheHits.incrementAndGet();
+            }
+            if (sample != MIXED) return sample;
+
+            long columnKey = key(x, z);
+            BiomeSample column = cache.columns.get(columnKey);
+            if (column != null) return column;
+
+            column = sampleColumn(world, x, z);
+            if (column != null) {
+                cache.columns.put(columnKey, column);
+            }
+            return column;
         } catch (Exception e) {
+            // Silently fail - biome detection is optional
             return null;
         }
     }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The chunk's sample if its center and four corners agree, MIXED otherwise.
+     */
+    @Nullable
+    private static BiomeSample sampleChunk(World world, int chunkX, int chunkZ) {
+        int minX = chunkX << CHUNK_SHIFT;
+        int minZ = chunkZ << CHUNK_SHIFT;
+
+        BiomeSample center = sampleColumn(world, minX + CHUNK_CENTER_OFFSET, minZ + CHUNK_CENTER_OFFSET);
+        if (center == null) return null;
+
+        int[][] corners = {
+            {minX, minZ}, {minX + CHUNK_LAST_OFFSET, minZ},
+            {minX, minZ + CHUNK_LAST_OFFSET}, {minX + CHUNK_LAST_OFFSET, minZ + CHUNK_LAST_OFFSET}
+        };
+        for (int[] corner : corners) {
+            BiomeSample sample = sampleColumn(world, corner[0], corner[1]);
+            if (sample == null || !center.sameAs(sample)) return MIXED;
+        }
+        return center;
+    }
+
+    @Nullable
+    private static BiomeSample sampleColumn(World world, int x, int z) {
+        IWorldGen worldGen = world.getChunkStore().getGenerator();
+        if (!(worldGen instanceof ChunkGenerator)) return null;
+
+        ChunkGenerator generator = (ChunkGenerator) worldGen;
+        int seed = (int) world.getWorldConfig().getSeed();
+
+        ZoneBiomeResult result = generator.generateZoneBiomeResultAt(seed, x, z);
+        if (result == null) return null;
+
+        Biome biome = result.getBiome();
+        String biomeName = biome != null ? biome.getName() : null;
+        String zoneName = (result.getZoneResult() != null && result.getZoneResult().getZone() != null)
+            ? result.getZoneResult().getZone().name()
+            : null;
+
+        return new BiomeSample(biomeName, zoneName);
+    }
+
+    private static final class BiomeSample {
+        @Nullable private final String biomeName;
+        @Nullable private final String zoneName;
+
+        private BiomeSample(@Nullable String biomeName, @Nullable String zoneName) {
+            this.biomeName = biomeName;
+            this.zoneName = zoneName;
+        }
+
+        private boolean sameAs(BiomeSample other) {
+            return Objects.equals(biomeName, other.biomeName) && Objects.equals(zoneName, other.zoneName);
+        }
+    }
+
+    /**
+     * Chunk and mixed-chunk column samples of a single world.
+     */
+    private static final class WorldBiomeCache {
+        private final SampleLru chunks = new SampleLru(MAX_CACHED_CHUNKS_PER_WORLD);
+        private final SampleLru columns = new SampleLru(MAX_CACHED_COLUMNS_PER_WORLD);
+
+        int size() {
+            return chunks.size() + columns.size();
+        }
+    }
+
+    /**
+     * Access ordered LRU of packed x/z key -> sample.
+     */
+    private static final class SampleLru {
+        private final LinkedHashMap<Long, BiomeSample> samples;
+
+        SampleLru(int maxSize) {
+            this.samples = new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BiomeSample> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Nullable
+        synchronized BiomeSample get(long key) {
+            return samples.get(key);
+        }
+
+        synchronized void put(long key, BiomeSample sample) {
+            samples.put(key, sample);
+        }
+
+        synchronized int size() {
+            return samples.size();
+        }
+    }
 }
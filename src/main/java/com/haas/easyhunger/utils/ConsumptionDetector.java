@@ -0,0 +1,69 @@
+package com.haas.easyhunger.utils;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.MoveTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Detects item consumption from inventory transactions by reading the before/after stacks
+ * directly, instead of parsing Transaction.toString().
+ *
+ * Cheap rejections come first: moves (drops, swaps), transactions without a query and
+ * transaction types that never consume anything.
+ */
+public class ConsumptionDetector {
+
+    /**
+     * The stack that was consumed (as it was before the transaction), or null if the transaction is not a consumption.
+     * A consumption is a slot losing quantity, or (single slot only) an item turning into another one
+     * with the same quantity, e.g. milk bucket -> empty bucket.
+     */
+    @Nullable
+    public static ItemStack findConsumedStack(@Nullable Transaction transaction) {
+        if (transaction == null || transaction instanceof MoveTransaction) return null;
+
+        // Case 1: Single Slot
+        if (transaction instanceof ItemStackSlotTransaction) {
+            ItemStackSlotTransaction slotTransaction = (ItemStackSlotTransaction) transaction;
+            if (slotTransaction.getQuery() == null) return null;
+
+            ItemStack before = slotTransaction.getSlotBefore();
+            ItemStack after = slotTransaction.getSlotAfter();
+            if (before == null || before.getQuantity() < 1) return null;
+
+            int afterQty = after != null ? after.getQuantity() : 0;
+            if (afterQty < before.getQuantity()) return before;
+
+            // Item transformation with the same quantity
+            if (after != null && afterQty == before.getQuantity()) {
+                String beforeId = before.getItemId();
+                String afterId = after.getItemId();
+                if (beforeId != null && afterId != null && !beforeId.equals(afterId)) return before;
+            }
+            return null;
+        }
+
+        // Case 2: Multi-Slot
+        if (transaction instanceof ItemStackTransaction) {
+            ItemStackTransaction stackTransaction = (ItemStackTransaction) transaction;
+            if (stackTransaction.getQuery() == null) return null;
+
+            for (Object slotTransObj : stackTransaction.getSlotTransactions()) {
+                if (!(slotTransObj instanceof SlotTransaction)) continue;
+                SlotTransaction slotTransaction = (SlotTransaction) slotTransObj;
+                ItemStack before = slotTransaction.getSlotBefore();
+                ItemStack after = slotTransaction.getSlotAfter();
+                if (before == null || before.getQuantity() < 1) continue;
+
+                int afterQty = after != null ? after.getQuantity() : 0;
+                if (afterQty < before.getQuantity()) return before;
+            }
+        }
+        return null;
+    }
+}
@@ -1,265 +1,125 @@
 package com.haas.easyhunger.utils;
 
-import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.haas.easyhunger.compat.protection.ProtectionManager;
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.math.vector.Vector3d;
-import java.lang.reflect.Method;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Whether a player stands in a protected area. The checks themselves are done by the
+ * providers registered in ProtectionManager.
+ *
+ * Results are cached per player and only re-checked when the player moves into another block,
+ * changes world, or the safety TTL runs out (regions can be edited while a player stands still).
+ * A player idling at spawn costs a map lookup and three int compares per check.
+ */
 public class HungerProtectionUtils {
 
-    private static Object regionManager;
-    private static Method getApiMethod;
-    private static Method getRegionMethod;
-    private static Method getRegionsAtMethod;
-    
-    // Essentials fields
-    private static Object essentialsInstance;
-    private static Object spawnProtectionManager;
-    private static Method isInProtectedAreaMethod;
-    private static boolean essentialsChecked = false;
-    private static boolean safeAreasChecked = false;
+    // Re-check even without movement, so region edits are picked up eventually
+    private static final long SAFETY_TTL_MS = 30_000;
+    // Entries are removed on disconnect, this only guards against leaks
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private static final Map<UUID, SafeStatus> safeCache = new ConcurrentHashMap<>();
+
+    /**
+     * Last protection result of a player, with the block and world it was checked in.
+     * Updated in place, a player is only ticked by its own world thread.
+     */
+    private static class SafeStatus {
+        String worldName;
+        int blockX;
+        int blockY;
+        int blockZ;
+        long checkedAt;
+        boolean isSafe;
 
-    // Cache for protection checks to improve performance
-    private static final java.util.Map<String, CachedSafeStatus> safeCache = new java.util.concurrent.ConcurrentHashMap<>();
-    private static final long CACHE_DURATION_MS = 1000; // Check once per second
+        boolean matches(String worldName, int blockX, int blockY, int blockZ, long now) {
+            return this.blockX == blockX && this.blockY == blockY && this.blockZ == blockZ
+                && now - this.checkedAt < SAFETY_TTL_MS
+                && this.worldName.equals(worldName);
+        }
 
-    private static class CachedSafeStatus {
-        long timestamp;
-        boolean isSafe;
-        CachedSafeStatus(boolean isSafe, long timestamp) { 
-            this.isSafe = isSafe; 
-            this.timestamp = timestamp; 
+        void set(String worldName, int blockX, int blockY, int blockZ, long now, boolean isSafe) {
+            this.worldName = worldName;
+            this.blockX = blockX;
+            this.blockY = blockY;
+            this.blockZ = blockZ;
+            this.checkedAt = now;
+            this.isSafe = isSafe;
         }
     }
 
     public static boolean isSafe(PlayerRef player) {
-        // Try to get world name from player via reflection
-        String worldName = "default";
-        try {
-            // Try multiple paths to get world name
-            // Path 1: player.getWorld().getName() using pure reflection
-            Method getWorldMethod = player.getClass().getMethod("getWorld");
-            Object world = getWorldMethod.invoke(player);
-            if (world != null) {
-                Method getNameMethod = world.getClass().getMethod("getName");
-                worldName = (String) getNameMethod.invoke(world);
-            }
-        } catch (Exception e) {
-            // Fallback to default - log once for debugging
-            // log("Could not get world name: " + e.getClass().getSimpleName());
-        }
-        return isSafe(player, worldName);
+        if (player == null) return false;
+
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null) return false;
+        World world = ref.getStore().getExternalData().getWorld();
+        if (world == null) return false;
+
+        return isSafe(player, world.getName());
     }
 
     public static boolean isSafe(PlayerRef player, String worldName) {
-        if (player == null) return false;
-        
+        if (player == null || worldName == null) return false;
+
         UUID uuid = player.getUuid();
         if (uuid == null) return false;
 
-        // Check Cache
-        String playerId = uuid.toString();
+        Vector3d position = player.getTransform().getPosition();
+        int blockX = (int) Math.floor(position.getX());
+        int blockY = (int) Math.floor(position.getY());
+        int blockZ = (int) Math.floor(position.getZ());
         long now = System.currentTimeMillis();
-        if (safeCache.containsKey(playerId)) {
-            CachedSafeStatus status = safeCache.get(playerId);
-            if (now - status.timestamp < CACHE_DURATION_MS) {
-                return status.isSafe;
-            }
+
+        SafeStatus status = safeCache.get(uuid);
+        if (status != null && status.matches(worldName, blockX, blockY, blockZ, now)) {
+            return status.isSafe;
         }
-        
-        // entry log (throttled? just log for now to confirm it runs)
-        // log("isSafe called for " + player.getName()); 
-        
+
+        boolean safe;
         try {
-            boolean safe = checkSafety(player, worldName);
-            safeCache.put(playerId, new CachedSafeStatus(safe, now));
-            return safe;
-            
+            safe = ProtectionManager.get().isProtected(worldName, position);
         } catch (Throwable e) {
             log("Critical error in isSafe: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
-        
-        return false;
-    }
 
-    private static boolean checkSafety(PlayerRef player, String worldName) {
-        if (isEssentialsSpawnProtected(player, worldName)) return true;
-        if (isSafeAreasProtected(player, worldName)) return true;
-        return false;
+        if (status == null) {
+            if (safeCache.size() >= MAX_CACHE_SIZE) safeCache.clear();
+            status = new SafeStatus();
+            safeCache.put(uuid, status);
+        }
+        status.set(worldName, blockX, blockY, blockZ, now, safe);
+        return safe;
     }
 
-    private static boolean isSafeAreasProtected(PlayerRef player, String worldName) {
-        try {
-            // Lazy init
-            if (regionManager == null) {
-                try {
-                    // Start Retry Logic for SafeAreas
-                    Class<?> regionManagerClass = Class.forName("com.mcodelogic.safeareas.manager.RegionManager");
-                    java.lang.reflect.Field instanceField = regionManagerClass.getDeclaredField("instance");
-                    regionManager = instanceField.get(null);
-
-                    if (regionManager != null) {
-                         Method getApi = regionManagerClass.getMethod("getApi");
-                         getApiMethod = getApi;
-                         Object api = getApi.invoke(regionManager);
-                         
-                         getRegionsAtMethod = api.getClass().getMethod("getRegionsAt", String.class, double.class, double.class, double.class);
-                         // log("SafeAreas integrated successfully!");
-                    }
-                } catch (Exception e) {
-                    // log("SafeAreas init failed: " + e);
-                }
-            }
-
-            if (regionManager == null || getApiMethod == null || getRegionsAtMethod == null) {
-                return false;
-            }
-
-            Object api = getApiMethod.invoke(regionManager);
-            if (api == null) return false;
-
-            Vector3d pos = player.getTransform().getPosition();
-            
-            // Uses the passed worldName directly
-            java.util.Set<?> regions = (java.util.Set<?>) getRegionsAtMethod.invoke(api, 
-                worldName, 
-                pos.getX(), 
-                pos.getY(), 
-                pos.getZ()
-            );
-
-            if (regions != null && !regions.isEmpty()) {
-                for (Object region : regions) {
-                    try {
-                        Method getFlagMethod = region.getClass().getMethod("getFlag", Class.forName("com.mcodelogic.safeareas.model.enums.RegionFlag"));
-                        Class<?> regionFlagEnum = Class.forName("com.mcodelogic.safeareas.model.enums.RegionFlag");
-                        
-                        // Check IMMORTAL
-                        try {
-                            Object immortalFlag = Enum.valueOf((Class<Enum>) regionFlagEnum, "IMMORTAL");
-                            Object flagValue = getFlagMethod.invoke(region, immortalFlag);
-                            boolean isActive = checkFlagValue(flagValue);
-                            
-                            if (isActive) {
-                                // log("Protection active: IMMORTAL flag detected!");
-                                return true;
-                            }
-                        } catch (Exception ie) {
-                            // log("Error checking IMMORTAL: " + ie);
-                        }
-                        
-                        // Check INVULNERABLE
-                        try {
-                             Object invulnerableFlag = Enum.valueOf((Class<Enum>) regionFlagEnum, "INVULNERABLE");
-                             Object flagValue = getFlagMethod.invoke(region, invulnerableFlag);
-                             if (checkFlagValue(flagValue)) {
-                                 // log("Protection active: INVULNERABLE flag detected.");
-                                 return true;
-                             }
-                        } catch (Exception ie) {}
-
-                    } catch (Exception e) {
-                        continue;
-                    }
-                }
-            }
-
-            return false;
+    /**
+     * Forget a player's cached result (disconnect).
+     */
+    public static void removePlayer(UUID playerUuid) {
+        safeCache.remove(playerUuid);
+    }
 
-        } catch (Throwable e) {
-            // log("SafeAreas check error: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Forget every cached result, e.g. after protected regions changed.
+     */
+    public static void invalidateAll() {
+        safeCache.clear();
     }
-    
-    private static boolean checkFlagValue(Object flagValueObj) {
-        if (flagValueObj == null) return false;
-        try {
-             Method getValueMethod = flagValueObj.getClass().getMethod("getValue");
-             Object value = getValueMethod.invoke(flagValueObj);
-             if (value instanceof Boolean) {
-                 return (Boolean) value;
-             }
-        } catch (Exception e) {
-            return false;
-        }
-        return false;
+
+    public static int getCacheSize() {
+        return safeCache.size();
     }
 
     private static void log(String message) {
         System.out.println("[EasyHunger-Protection] " + message);
     }
-
-    private static boolean isEssentialsSpawnProtected(PlayerRef player, String worldName) {
-        try {
-            if (!essentialsChecked) {
-                try {
-                    Class<?> essentialsClass = Class.forName("com.nhulston.essentials.Essentials");
-                    Method getInstanceMethod = essentialsClass.getMethod("getInstance");
-                    essentialsInstance = getInstanceMethod.invoke(null);
-                    
-                    if (essentialsInstance != null) {
-                        // The field spawnProtectionManager is private, so we need to set accessible
-                        java.lang.reflect.Field spmField = essentialsClass.getDeclaredField("spawnProtectionManager");
-                        spmField.setAccessible(true);
-                        spawnProtectionManager = spmField.get(essentialsInstance);
-                        
-                        if (spawnProtectionManager != null) {
-                            // New signature in Essentials 1.8.0: boolean isInProtectedArea(String worldName, Vector3d entityPos)
-                            isInProtectedAreaMethod = spawnProtectionManager.getClass().getMethod("isInProtectedArea", String.class, Vector3d.class);
-                            log("Essentials SpawnProtectionManager found! (v1.8.0+ signature)");
-                        } else {
-                             log("Essentials SpawnProtectionManager is NULL");
-                        }
-                    } else {
-                        log("Essentials Instance is NULL");
-                    }
-                } catch (ClassNotFoundException e) {
-                    log("Essentials not found (ClassNotFound)");
-                } catch (Exception e) {
-                    log("Error initializing Essentials reflection: " + e.getMessage());
-                    e.printStackTrace();
-                }
-                essentialsChecked = true;
-            }
-
-            if (spawnProtectionManager == null || isInProtectedAreaMethod == null) {
-                return false;
-            }
-
-			// Get position
-            Vector3d pos = player.getTransform().getPosition();
-            
-            // Get spawn's world name from storageManager
-            String spawnWorldName = worldName; // fallback
-            try {
-                Class<?> essentialsClass = Class.forName("com.nhulston.essentials.Essentials");
-                Method getInstanceMethod = essentialsClass.getMethod("getInstance");
-                Object essentials = getInstanceMethod.invoke(null);
-                
-                java.lang.reflect.Field storageField = essentialsClass.getDeclaredField("storageManager");
-                storageField.setAccessible(true);
-                Object storageManager = storageField.get(essentials);
-                
-                Method getSpawnMethod = storageManager.getClass().getMethod("getSpawn");
-                Object spawn = getSpawnMethod.invoke(storageManager);
-                
-                if (spawn != null) {
-                    Method getWorldMethod = spawn.getClass().getMethod("getWorld");
-                    spawnWorldName = (String) getWorldMethod.invoke(spawn);
-                }
-            } catch (Exception e) {
-                // Use fallback worldName
-            }
-            
-            boolean result = (boolean) isInProtectedAreaMethod.invoke(spawnProtectionManager, spawnWorldName, pos);
-            return result;
-
-        } catch (Throwable e) {
-            log("Error checking spawn protection: " + e.toString());
-            e.printStackTrace();
-            return false;
-        }
-    }
 }
@@ -0,0 +1,93 @@
+package com.haas.easyhunger.utils;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the item ids found in ItemStacks to their canonical base id and Item asset.
+ *
+ * Hytale prefixes state variants with an asterisk and appends the state ("*Id:Filled_Water").
+ * Stripping that allocated new strings on every drink; the result is now memoized per raw id.
+ * The memo holds Item references, so it is cleared whenever Item assets are (re)loaded.
+ */
+public final class ItemIdNormalizer {
+
+    // Raw ids come from assets and their states, this only guards against unbounded growth
+    private static final int MAX_MEMO_SIZE = 4096;
+
+    private static final Map<String, NormalizedId> memo = new ConcurrentHashMap<>();
+
+    private ItemIdNormalizer() {
+    }
+
+    /**
+     * A raw item id resolved to its base id and asset.
+     */
+    public static final class NormalizedId {
+        private final String baseId;
+        @Nullable
+        private final Item item;
+
+        private NormalizedId(String baseId, @Nullable Item item) {
+            this.baseId = baseId;
+            this.item = item;
+        }
+
+        /** Id without the leading asterisk and state suffix. */
+        public String getBaseId() { return baseId; }
+
+        /** Item asset for the raw id, or for the base id if the variant is not an asset. Null if neither is loaded. */
+        @Nullable
+        public Item getItem() { return item; }
+    }
+
+    @Nullable
+    public static NormalizedId normalize(@Nullable ItemStack stack) {
+        return stack != null ? normalize(stack.getItemId()) : null;
+    }
+
+    @Nullable
+    public static NormalizedId normalize(@Nullable String rawId) {
+        if (rawId == null) return null;
+
+        NormalizedId cached = memo.get(rawId);
+        if (cached != null) return cached;
+
+        String baseId = baseIdOf(rawId);
+        Item item = Item.getAssetMap().getAsset(rawId);
+        if (item == null && baseId != rawId) {
+            item = Item.getAssetMap().getAsset(baseId);
+        }
+
+        NormalizedId resolved = new NormalizedId(baseId, item);
+        if (memo.size() < MAX_MEMO_SIZE) {
+            memo.put(rawId, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Strip the leading asterisk and the ":State" suffix. Returns the id itself if there is nothing to strip.
+     */
+    public static String baseIdOf(String rawId) {
+        int start = rawId.startsWith("*") ? 1 : 0;
+        int colon = rawId.indexOf(':', start);
+        int end = colon >= 0 ? colon : rawId.length();
+        return (start == 0 && end == rawId.length()) ? rawId : rawId.substring(start, end);
+    }
+
+    /**
+     * Drop every memoized id. Called when Item assets are (re)loaded.
+     */
+    public static void invalidate() {
+        memo.clear();
+    }
+
+    public static int getMemoSize() {
+        return memo.size();
+    }
+}
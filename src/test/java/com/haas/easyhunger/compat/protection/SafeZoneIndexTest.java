@@ -0,0 +1,128 @@
+package com.haas.easyhunger.compat.protection;
+
+import com.haas.easyhunger.config.SafeZonesConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SafeZoneIndexTest {
+
+    private static SafeZoneIndex index(SafeZonesConfig.Zone... zones) {
+        return SafeZoneIndex.build(new SafeZonesConfig(true, zones));
+    }
+
+    private static SafeZonesConfig.Zone zone(String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return new SafeZonesConfig.Zone("test", world, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    @Test
+    void bothCornersAreIncluded() {
+        SafeZoneIndex index = index(zone("default", 0, 0, 0, 10, 10, 10));
+        assertTrue(index.contains("default", 0.0, 0.0, 0.0));
+        assertTrue(index.contains("default", 10.99, 10.99, 10.99));
+        assertFalse(index.contains("default", 11.0, 5.0, 5.0));
+        assertFalse(index.contains("default", -0.01, 5.0, 5.0));
+        assertFalse(index.contains("default", 5.0, 11.0, 5.0));
+    }
+
+    @Test
+    void cornersMayBeGivenInAnyOrder() {
+        SafeZoneIndex index = index(zone("default", 10, 10, 10, 0, 0, 0));
+        assertTrue(index.contains("default", 5.0, 5.0, 5.0));
+    }
+
+    @Test
+    void zoneCrossingGridCellEdges() {
+        // Cells are 32 columns wide, this zone covers the last column of cell 0 and the first of cell 1
+        SafeZoneIndex index = index(zone("default", 31, 0, 31, 32, 0, 32));
+        assertTrue(index.contains("default", 31.5, 0.5, 31.5));
+        assertTrue(index.contains("default", 32.5, 0.5, 32.5));
+        assertTrue(index.contains("default", 31.5, 0.5, 32.5));
+        assertFalse(index.contains("default", 30.5, 0.5, 31.5));
+        assertFalse(index.contains("default", 33.5, 0.5, 32.5));
+    }
+
+    @Test
+    void negativeCoordinatesUseTheLowerCell() {
+        SafeZoneIndex index = index(zone("default", -33, 0, -1, -32, 0, 0));
+        assertTrue(index.contains("default", -32.5, 0.0, -0.5));
+        assertTrue(index.contains("default", -33.0, 0.0, 0.9));
+        assertFalse(index.contains("default", -31.0, 0.0, -0.5));
+        assertFalse(index.contains("default", -33.5, 0.0, -1.5));
+    }
+
+    @Test
+    void largeZoneIsFoundAnywhereInside() {
+        // 66 x 66 cells, over MAX_CELLS_PER_ZONE, so it is tested on every lookup instead of gridded
+        SafeZoneIndex index = index(
+            zone("default", -1000, -64, -1000, 1100, 320, 1100),
+            zone("default", 5000, 0, 5000, 5010, 10, 5010)
+        );
+        assertTrue(index.contains("default", -1000.0, 0.0, 1100.5));
+        assertTrue(index.contains("default", 0.0, 0.0, 0.0));
+        assertFalse(index.contains("default", 1101.0, 0.0, 0.0));
+        assertTrue(index.contains("default", 5005.0, 5.0, 5005.0));
+        assertFalse(index.contains("default", 4000.0, 5.0, 4000.0));
+    }
+
+    @Test
+    void zonesOnlyApplyToTheirWorld() {
+        SafeZoneIndex index = index(zone("spawn", 0, 0, 0, 10, 10, 10));
+        assertTrue(index.contains("spawn", 5.0, 5.0, 5.0));
+        assertFalse(index.contains("default", 5.0, 5.0, 5.0));
+    }
+
+    @Test
+    void disabledOrMissingConfigIsEmpty() {
+        assertSame(SafeZoneIndex.EMPTY, SafeZoneIndex.build(null));
+        assertSame(SafeZoneIndex.EMPTY, SafeZoneIndex.build(new SafeZonesConfig(false, new SafeZonesConfig.Zone[] {zone("default", 0, 0, 0, 1, 1, 1)})));
+        assertTrue(SafeZoneIndex.build(new SafeZonesConfig(true, new SafeZonesConfig.Zone[0])).isEmpty());
+    }
+
+    @Test
+    void nullZonesAreSkipped() {
+        SafeZoneIndex index = index(null, zone(null, 0, 0, 0, 1, 1, 1), zone("default", 0, 0, 0, 1, 1, 1));
+        assertEquals(1, index.getZoneCount());
+        assertTrue(index.contains("default", 0.5, 0.5, 0.5));
+    }
+
+    @Test
+    void matchesBruteForceWithManyOverlappingZones() {
+        Random random = new Random(42);
+        SafeZonesConfig.Zone[] zones = new SafeZonesConfig.Zone[2000];
+        for (int i = 0; i < zones.length; i++) {
+            int x = random.nextInt(4000) - 2000;
+            int z = random.nextInt(4000) - 2000;
+            int y = random.nextInt(200);
+            zones[i] = zone("default", x, y, z, x + random.nextInt(80), y + random.nextInt(20), z + random.nextInt(80));
+        }
+        SafeZoneIndex index = index(zones);
+
+        for (int i = 0; i < 20000; i++) {
+            double x = random.nextDouble() * 4200 - 2100;
+            double y = random.nextDouble() * 230;
+            double z = random.nextDouble() * 4200 - 2100;
+            assertEquals(bruteForce(zones, x, y, z), index.contains("default", x, y, z),
+                "position " + x + ", " + y + ", " + z);
+        }
+    }
+
+    private static boolean bruteForce(SafeZonesConfig.Zone[] zones, double x, double y, double z) {
+        int bx = (int) Math.floor(x);
+        int by = (int) Math.floor(y);
+        int bz = (int) Math.floor(z);
+        for (SafeZonesConfig.Zone zone : zones) {
+            if (bx >= zone.getMinX() && bx <= zone.getMaxX()
+                && by >= zone.getMinY() && by <= zone.getMaxY()
+                && bz >= zone.getMinZ() && bz <= zone.getMaxZ()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
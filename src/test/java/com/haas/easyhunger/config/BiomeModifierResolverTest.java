@@ -0,0 +1,112 @@
+package com.haas.easyhunger.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BiomeModifierResolverTest {
+
+    private static final float DEFAULT_HUNGER = 1.0f;
+    private static final float DEFAULT_THIRST = 0.9f;
+
+    private static BiomeModifierResolver resolver(Map<String, Float> hunger, Map<String, Float> thirst) {
+        return BiomeModifierResolver.compile(true, DEFAULT_HUNGER, DEFAULT_THIRST, hunger, thirst);
+    }
+
+    private static Map<String, Float> map(Object... entries) {
+        Map<String, Float> map = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], (Float) entries[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    void exactKeyWinsOverKeywords() {
+        BiomeModifierResolver resolver = resolver(map("Desert_Oasis", 0.5f, "desert", 2.0f, "oasis", 3.0f), map());
+        assertEquals(0.5f, resolver.resolve("Desert_Oasis")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void exactKeyAlsoMatchesAsKeyword() {
+        // Not an exact hit, but the key is the longest keyword ending at the last position
+        BiomeModifierResolver resolver = resolver(map("Desert_Oasis", 0.5f, "oasis", 3.0f), map());
+        assertEquals(0.5f, resolver.resolve("Big_DESERT_OASIS")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void exactHungerKeyStillResolvesThirstByKeyword() {
+        BiomeModifierResolver resolver = resolver(map("Desert_Oasis", 0.5f), map("desert", 1.8f));
+        float[] multipliers = resolver.resolve("Desert_Oasis");
+        assertEquals(0.5f, multipliers[BiomeModifierResolver.HUNGER]);
+        assertEquals(1.8f, multipliers[BiomeModifierResolver.THIRST]);
+    }
+
+    @Test
+    void keywordEndingLastWins() {
+        BiomeModifierResolver resolver = resolver(map("Frozen", 2.0f, "Forest", 1.5f, "Valley", 1.2f), map());
+        assertEquals(2.0f, resolver.resolve("Valley_Forest_Frozen")[BiomeModifierResolver.HUNGER]);
+        assertEquals(1.5f, resolver.resolve("Frozen_Forest")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void longestKeywordWinsAtTheSameEnd() {
+        BiomeModifierResolver resolver = resolver(map("zen", 1.1f, "frozen", 2.0f, "n", 9.0f), map());
+        assertEquals(2.0f, resolver.resolve("Forest_Frozen")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void shorterKeywordEndingLaterBeatsLongerEarlierOne() {
+        BiomeModifierResolver resolver = resolver(map("frozen_forest", 2.0f, "tundra", 1.4f), map());
+        assertEquals(1.4f, resolver.resolve("Frozen_Forest_Tundra")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void keywordWithoutValueForAStatDoesNotShadowIt() {
+        // "frozen" only has a thirst value, hunger keeps the earlier "forest" match
+        BiomeModifierResolver resolver = resolver(map("forest", 1.5f), map("frozen", 2.0f));
+        float[] multipliers = resolver.resolve("Forest_Frozen");
+        assertEquals(1.5f, multipliers[BiomeModifierResolver.HUNGER]);
+        assertEquals(2.0f, multipliers[BiomeModifierResolver.THIRST]);
+    }
+
+    @Test
+    void keywordsAreCaseInsensitive() {
+        BiomeModifierResolver resolver = resolver(map("DESERT", 2.0f), map());
+        assertEquals(2.0f, resolver.resolve("hot_desert")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void nonAsciiKeywordsMatch() {
+        BiomeModifierResolver resolver = resolver(map("wüste", 2.0f), map());
+        assertEquals(2.0f, resolver.resolve("Heiße_Wüste")[BiomeModifierResolver.HUNGER]);
+    }
+
+    @Test
+    void noMatchUsesDefaults() {
+        BiomeModifierResolver resolver = resolver(map("desert", 2.0f), map("desert", 1.8f));
+        float[] multipliers = resolver.resolve("Plains");
+        assertEquals(DEFAULT_HUNGER, multipliers[BiomeModifierResolver.HUNGER]);
+        assertEquals(DEFAULT_THIRST, multipliers[BiomeModifierResolver.THIRST]);
+    }
+
+    @Test
+    void disabledOrUnknownBiomeIsNeutral() {
+        BiomeModifierResolver disabled = BiomeModifierResolver.compile(false, 2.0f, 2.0f, map("desert", 2.0f), map());
+        assertEquals(1.0f, disabled.resolve("Desert")[BiomeModifierResolver.HUNGER]);
+
+        BiomeModifierResolver resolver = resolver(map("desert", 2.0f), map());
+        assertEquals(1.0f, resolver.resolve(null)[BiomeModifierResolver.THIRST]);
+    }
+
+    @Test
+    void resolvedPairIsMemoized() {
+        BiomeModifierResolver resolver = resolver(map("desert", 2.0f), map());
+        assertSame(resolver.resolve("Desert"), resolver.resolve("Desert"));
+        assertEquals(1, resolver.getMemoSize());
+    }
+}
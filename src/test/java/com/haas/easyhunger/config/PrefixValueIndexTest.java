@@ -0,0 +1,112 @@
+package com.haas.easyhunger.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixValueIndexTest {
+
+    @Test
+    void longestPrefixWins() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of(
+            "Food_", 5.0f, "Food_Juice", 20.0f, "Food_Juice_Apple", 22.0f));
+        assertEquals(22.0f, index.resolve("Food_Juice_Apple_Large"));
+        assertEquals(20.0f, index.resolve("Food_Juice_Berry"));
+        assertEquals(5.0f, index.resolve("Food_Bread"));
+    }
+
+    @Test
+    void exactKeyWins() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Juice", 20.0f, "Food_Juice_Apple", 22.0f));
+        assertEquals(22.0f, index.resolve("Food_Juice_Apple"));
+    }
+
+    @Test
+    void exactZeroIsNotOverriddenByShorterPrefix() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Juice", 20.0f, "Food_Juice_Bad", 0.0f));
+        assertEquals(0.0f, index.resolve("Food_Juice_Bad"));
+    }
+
+    @Test
+    void walkStoppingMidKeyKeepsLastValue() {
+        // "Food_Juice_Apple" shares "Food_Juice_A" with the id but never completes
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Juice", 20.0f, "Food_Juice_Apple", 22.0f));
+        assertEquals(20.0f, index.resolve("Food_Juice_Apricot"));
+        assertEquals(20.0f, index.resolve("Food_Juice_App"));
+    }
+
+    @Test
+    void idShorterThanEveryKeyIsUnconfigured() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Juice", 20.0f));
+        assertTrue(Float.isNaN(index.resolve("Food")));
+        assertTrue(Float.isNaN(index.resolve("")));
+    }
+
+    @Test
+    void rootValueIsNaN() {
+        // An empty key would match every id, it is ignored so the root stays unconfigured
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("", 99.0f, "Food_", 5.0f));
+        assertTrue(Float.isNaN(index.resolve("Plant_Fruit")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void emptyOrMissingMapResolvesNothing() {
+        assertTrue(Float.isNaN(PrefixValueIndex.compile(null).resolve("Food_Bread")));
+        assertTrue(Float.isNaN(PrefixValueIndex.compile(Map.of()).resolve("Food_Bread")));
+    }
+
+    @Test
+    void nullIdsAndValuesAreIgnored() {
+        Map<String, Float> values = new HashMap<>(Map.of("Food_Bread", 10.0f));
+        values.put("Food_", null);
+        values.put(null, 3.0f);
+        PrefixValueIndex index = PrefixValueIndex.compile(values);
+        assertEquals(1, index.size());
+        assertTrue(Float.isNaN(index.resolve(null)));
+        assertTrue(Float.isNaN(index.resolve("Food_Cake")));
+    }
+
+    @Test
+    void keysAreCaseSensitive() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Bread", 10.0f));
+        assertTrue(Float.isNaN(index.resolve("food_bread")));
+    }
+
+    @Test
+    void resultsAreMemoizedIncludingMisses() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_Bread", 10.0f));
+        assertEquals(10.0f, index.resolve("Food_Bread"));
+        assertTrue(Float.isNaN(index.resolve("Plant_Fruit")));
+        assertEquals(10.0f, index.resolve("Food_Bread"));
+        assertEquals(2, index.getMemoSize());
+    }
+
+    @Test
+    void uncachedResolveLeavesTheMemoEmpty() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Food_", 5.0f));
+        assertEquals(5.0f, index.resolveUncached("Food_Bread"));
+        assertTrue(Float.isNaN(index.resolveUncached(null)));
+        assertEquals(0, index.getMemoSize());
+    }
+
+    @Test
+    void changedKeysCoverAddedRemovedAndEditedKeys() {
+        PrefixValueIndex previous = PrefixValueIndex.compile(Map.of("Food_", 5.0f, "Food_Bread", 10.0f, "Food_Cake", 8.0f));
+        PrefixValueIndex current = PrefixValueIndex.compile(Map.of("Food_", 5.0f, "Food_Bread", 12.0f, "Food_Pie", 9.0f));
+        assertEquals(Set.of("Food_Bread", "Food_Cake", "Food_Pie"), current.changedKeys(previous));
+        assertTrue(current.changedKeys(current).isEmpty());
+    }
+
+    @Test
+    void nonAsciiKeysResolve() {
+        PrefixValueIndex index = PrefixValueIndex.compile(Map.of("Mod_Käse", 12.0f, "Mod_K", 1.0f));
+        assertEquals(12.0f, index.resolve("Mod_Käse_Alt"));
+        assertEquals(1.0f, index.resolve("Mod_Kuchen"));
+    }
+}
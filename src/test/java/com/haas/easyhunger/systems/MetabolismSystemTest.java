@@ -0,0 +1,74 @@
+package com.haas.easyhunger.systems;
+
+import com.haas.easyhunger.components.HungerComponent;
+import com.haas.easyhunger.components.ThirstComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MetabolismSystemTest {
+
+    private static final float TICK_RATE = 5.0f;
+    private static final long SETTINGS_VERSION = 1;
+
+    private final MetabolismScheduler scheduler = MetabolismScheduler.forWorld("MetabolismSystemTest");
+    private final HungerComponent hunger = new HungerComponent(50.0f);
+    private final ThirstComponent thirst = new ThirstComponent(50.0f);
+
+    private void startLazy() {
+        // Step deadline already in the past, as for a player who stepped before going lazy
+        hunger.isStepDue(scheduler, 0.0f);
+        hunger.startLazy(scheduler, 0.1f, scheduler.getTime() + 60.0, SETTINGS_VERSION);
+        thirst.startLazy(scheduler, 0.1f);
+    }
+
+    private int checkLazy() {
+        return MetabolismSystem.checkLazy(scheduler, hunger, thirst, true, SETTINGS_VERSION, TICK_RATE);
+    }
+
+    @Test
+    void idlePlayerStaysLazy() {
+        startLazy();
+        assertEquals(MetabolismSystem.LAZY, checkLazy());
+    }
+
+    @Test
+    void drinkWhileLazyWakesHungerToo() {
+        startLazy();
+        thirst.drink(5.0f, 100.0f);
+
+        assertEquals(MetabolismSystem.WOKEN, checkLazy());
+        // Hunger no longer lazy, so thirst is stepped again from the next period on
+        assertFalse(hunger.isLazy());
+        assertFalse(thirst.isLazy());
+        assertEquals(MetabolismSystem.ACTIVE, checkLazy());
+    }
+
+    @Test
+    void jumpWhileLazyRestartsTheStep() {
+        startLazy();
+        hunger.starve(1.0f);
+
+        assertEquals(MetabolismSystem.WOKEN, checkLazy());
+        assertFalse(thirst.isLazy());
+
+        // The closed form charged the decay up to the jump, no step is due right away
+        scheduler.beginTick();
+        assertFalse(hunger.isStepDue(scheduler, TICK_RATE));
+    }
+
+    @Test
+    void settingsChangeWakes() {
+        startLazy();
+        assertEquals(MetabolismSystem.WOKEN,
+            MetabolismSystem.checkLazy(scheduler, hunger, thirst, true, SETTINGS_VERSION + 1, TICK_RATE));
+    }
+
+    @Test
+    void notIdleWakes() {
+        startLazy();
+        assertEquals(MetabolismSystem.WOKEN,
+            MetabolismSystem.checkLazy(scheduler, hunger, thirst, false, SETTINGS_VERSION, TICK_RATE));
+    }
+}